@@ -0,0 +1,92 @@
+package com.ranked4.ai.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ranked4.ai.tools.BenchmarkPositions;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Evaluator;
+import com.ranked4.engine.IncrementalEvaluator;
+
+/**
+ * Cost of the heuristic and of win detection per position of the
+ * {@link BenchmarkPositions#MIDGAME} corpus: a full {@link Evaluator} rescan,
+ * one {@link IncrementalEvaluator} make/unmake and every column's
+ * {@link Bitboard#isWinningMove} test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    private Bitboard[] boards;
+    private IncrementalEvaluator[] evaluators;
+    private int[] squares;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int size = BenchmarkPositions.MIDGAME.size();
+        boards = new Bitboard[size];
+        evaluators = new IncrementalEvaluator[size];
+        squares = new int[size];
+        for (int i = 0; i < size; i++) {
+            Bitboard board = BenchmarkPositions.MIDGAME.get(i).toBitboard();
+            boards[i] = board;
+            evaluators[i] = new IncrementalEvaluator(board.currentStones(), board.opponentStones());
+            squares[i] = Long.numberOfTrailingZeros(Bitboard.possibleMoves(board.mask()));
+        }
+    }
+
+    @Benchmark
+    public int fullEvaluation() {
+        Bitboard board = nextBoard();
+        return Evaluator.evaluate(board.currentStones(), board.opponentStones());
+    }
+
+    @Benchmark
+    public int incrementalEvaluation() {
+        int i = nextIndex();
+        IncrementalEvaluator evaluator = evaluators[i];
+        evaluator.add(squares[i], true);
+        int score = evaluator.score();
+        evaluator.remove(squares[i], true);
+        return score;
+    }
+
+    @Benchmark
+    public int winDetection() {
+        Bitboard board = nextBoard();
+        int wins = 0;
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (board.canPlay(col) && board.isWinningMove(col)) {
+                wins++;
+            }
+        }
+        return wins;
+    }
+
+    private Bitboard nextBoard() {
+        return boards[nextIndex()];
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = (next + 1) % boards.length;
+        return i;
+    }
+}
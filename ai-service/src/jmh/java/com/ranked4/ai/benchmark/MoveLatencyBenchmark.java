@@ -0,0 +1,94 @@
+package com.ranked4.ai.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ranked4.ai.service.CachedMove;
+import com.ranked4.ai.service.Connect4AiService;
+import com.ranked4.ai.service.MctsStrategy;
+import com.ranked4.ai.service.MinimaxStrategy;
+import com.ranked4.ai.service.PositionCache;
+import com.ranked4.ai.service.PositionStore;
+import com.ranked4.ai.service.SearchMetrics;
+import com.ranked4.ai.tools.BenchmarkPositions.BenchmarkPosition;
+import com.ranked4.ai.tools.BenchmarkPositions;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.TranspositionTable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency of one {@link Connect4AiService#calculateBestMove} call per
+ * difficulty, cycling through the {@link BenchmarkPositions#MIDGAME} corpus
+ * with the service configured as in application.yml, without an opening book.
+ * Both tables are cleared before every call and the position cache is off,
+ * so each move is searched cold.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveLatencyBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD", "VERY_HARD"})
+    Difficulty difficulty;
+
+    private final List<BenchmarkPosition> positions = BenchmarkPositions.MIDGAME;
+    private ForkJoinPool pool;
+    private TranspositionTable table;
+    private SolverTable solverTable;
+    private Connect4AiService service;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        table = new TranspositionTable(64);
+        solverTable = new SolverTable(22);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MinimaxStrategy minimax = new MinimaxStrategy(table, pool, OpeningBook.empty(), solverTable,
+                new PositionCache<>("move", 0, CachedMove.ENTRY_BYTES, CachedMove::mirror, registry),
+                PositionStore.disabled(), 3, 3, 3, true, 1000, 3);
+        MctsStrategy mcts = new MctsStrategy(pool, registry, 200, 1000, 5000, 20000, 64, 300000);
+        service = new Connect4AiService(table, solverTable, new SearchMetrics(registry),
+                new PositionCache<>("analysis", 0, 1, Connect4AiService::mirror, registry),
+                minimax, mcts, List.of(), 4, true, 1000);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTables() {
+        table.clear();
+        solverTable.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int bestMove() {
+        BenchmarkPosition position = positions.get(next);
+        next = (next + 1) % positions.size();
+        return service.calculateBestMove(position.grid(), difficulty.getLevel(), position.playerToMove());
+    }
+}
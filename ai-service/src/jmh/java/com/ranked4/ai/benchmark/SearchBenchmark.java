@@ -0,0 +1,73 @@
+package com.ranked4.ai.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ranked4.ai.tools.BenchmarkPositions.BenchmarkPosition;
+import com.ranked4.ai.tools.BenchmarkPositions;
+import com.ranked4.engine.AlphaBetaSearch;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.TranspositionTable;
+
+/**
+ * Single-threaded search throughput: each operation searches the whole
+ * {@link BenchmarkPositions#MIDGAME} corpus to a fixed depth with the
+ * transposition table cleared between positions. The {@code nodes} counter
+ * is reported as nodes per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"8", "10"})
+    int depth;
+
+    private final List<BenchmarkPosition> positions = BenchmarkPositions.MIDGAME;
+    private TranspositionTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new TranspositionTable(16);
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Benchmark
+    public int searchCorpus(Nodes counter) {
+        int moves = 0;
+        for (BenchmarkPosition position : positions) {
+            table.clear();
+            AlphaBetaSearch search = new AlphaBetaSearch(position.toBitboard(), table);
+            moves += search.bestMove(SearchLimits.fixedDepth(depth));
+            counter.nodes += search.nodes();
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ranked4.ai.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ranked4.ai.dto.AiAnalysisResponse;
+import com.ranked4.ai.service.CachedMove;
+import com.ranked4.ai.service.Connect4AiService;
+import com.ranked4.ai.service.PositionCache;
+import com.ranked4.ai.service.PositionStore;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.TranspositionTable;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class SearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchConfig.class);
+    private static final int ANALYSIS_ENTRY_BYTES = 1024;
+
+    @Bean
+    public TranspositionTable transpositionTable(
+            @Value("${ai.search.transposition-table.size-mb:64}") int sizeMb,
+            MeterRegistry meterRegistry) {
+        TranspositionTable table = new TranspositionTable(sizeMb);
+
+        Gauge.builder("ai.search.tt.capacity", table, TranspositionTable::capacity)
+                .description("Number of slots in the transposition table")
+                .register(meterRegistry);
+
+        return table;
+    }
+
+    @Bean
+    public SolverTable solverTable(@Value("${ai.solver.table-size-log2:22}") int log2Size) {
+        return new SolverTable(log2Size);
+    }
+
+    @Bean
+    public PositionCache<CachedMove> moveCache(@Value("${ai.cache.size-mb:16}") int sizeMb,
+            MeterRegistry meterRegistry) {
+        return new PositionCache<>("move", sizeMb, CachedMove.ENTRY_BYTES, CachedMove::mirror, meterRegistry);
+    }
+
+    @Bean
+    public PositionCache<AiAnalysisResponse> analysisCache(@Value("${ai.cache.analysis-size-mb:8}") int sizeMb,
+            MeterRegistry meterRegistry) {
+        return new PositionCache<>("analysis", sizeMb, ANALYSIS_ENTRY_BYTES, Connect4AiService::mirror,
+                meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PositionStore positionStore(@Value("${ai.store.path:}") String path,
+            @Value("${ai.store.size-mb:16}") int sizeMb,
+            @Value("${ai.store.sync-interval-ms:5000}") long syncIntervalMs,
+            MeterRegistry meterRegistry) {
+        if (path.isBlank()) {
+            log.info("No position store configured");
+            return PositionStore.disabled();
+        }
+
+        try {
+            return PositionStore.open(Path.of(path), sizeMb, syncIntervalMs, meterRegistry);
+        } catch (IOException | RuntimeException e) {
+            log.error("Unable to open position store {}, searching without it", path, e);
+            return PositionStore.disabled();
+        }
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool searchPool(@Value("${ai.search.parallel.pool-size:0}") int poolSize) {
+        int parallelism = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchExecutor(
+            @Value("${ai.admission.threads:0}") int poolSize,
+            @Value("${ai.admission.queue-capacity:32}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("ai-search-", 0).factory());
+
+        Gauge.builder("ai.admission.queue.size", executor, e -> e.getQueue().size())
+                .description("Move requests waiting for a search thread")
+                .register(meterRegistry);
+        Gauge.builder("ai.admission.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Move requests being searched")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor(
+            @Value("${ai.batch.pool-size:0}") int poolSize,
+            @Value("${ai.batch.queue-capacity:512}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("ai-batch-", 0).factory());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService ponderExecutor(
+            @Value("${ai.ponder.threads:1}") int threads,
+            @Value("${ai.ponder.max-games:64}") int maxGames) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxGames),
+                Thread.ofPlatform().name("ai-ponder-", 0).priority(Thread.MIN_PRIORITY).factory());
+    }
+
+    @Bean
+    public OpeningBook openingBook(@Value("${ai.opening-book.path:}") String path) {
+        if (path.isBlank()) {
+            log.info("No opening book configured");
+            return OpeningBook.empty();
+        }
+
+        Path bookPath = Path.of(path);
+        if (!Files.isRegularFile(bookPath)) {
+            log.warn("Opening book {} not found, searching every position", bookPath);
+            return OpeningBook.empty();
+        }
+
+        try {
+            OpeningBook book = OpeningBook.open(bookPath);
+            log.info("Opening book {} loaded: {} positions up to {} plies (depth {})",
+                    bookPath, book.size(), book.maxPlies(), book.searchDepth());
+            return book;
+        } catch (IOException e) {
+            log.error("Unable to load opening book {}, searching every position", bookPath, e);
+            return OpeningBook.empty();
+        }
+    }
+}
@@ -1,37 +1,63 @@
 package com.ranked4.ai.controller;
 
+import java.util.UUID;
+
+import com.ranked4.ai.dto.AiAnalysisRequest;
+import com.ranked4.ai.dto.AiAnalysisResponse;
+import com.ranked4.ai.dto.AiBatchMoveRequest;
 import com.ranked4.ai.dto.AiMoveRequest;
 import com.ranked4.ai.dto.AiMoveResponse;
-import com.ranked4.ai.service.Connect4AiService;
+import com.ranked4.ai.dto.AiPonderRequest;
+import com.ranked4.ai.service.BatchMoveService;
+import com.ranked4.ai.service.PonderService;
+import com.ranked4.ai.service.SearchAdmission;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @RestController
 @RequestMapping("/api/ai")
 public class AiController {
 
-    private final Connect4AiService aiService;
+    private final PonderService ponderService;
+    private final BatchMoveService batchMoveService;
+    private final SearchAdmission searchAdmission;
 
-    public AiController(Connect4AiService aiService) {
-        this.aiService = aiService;
+    public AiController(PonderService ponderService, BatchMoveService batchMoveService,
+            SearchAdmission searchAdmission) {
+        this.ponderService = ponderService;
+        this.batchMoveService = batchMoveService;
+        this.searchAdmission = searchAdmission;
     }
 
     @PostMapping("/next-move")
     public ResponseEntity<AiMoveResponse> getNextMove(@Valid @RequestBody AiMoveRequest request) {
-        int bestMove = aiService.calculateBestMove(
-            request.grid(),
-            request.difficulty(),
-            request.aiPlayerId()
-        );
-
-        boolean isWinningMove = aiService.isWinningMove(
-            request.grid(),
-            bestMove,
-            request.aiPlayerId()
-        );
-
-        return ResponseEntity.ok(new AiMoveResponse(bestMove, isWinningMove));
+        return ResponseEntity.ok(ponderService.nextMove(request));
+    }
+
+    @PostMapping(value = "/next-moves", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter getNextMoves(@Valid @RequestBody AiBatchMoveRequest request) {
+        return batchMoveService.submit(request.jobs());
+    }
+
+    @PostMapping("/analyze")
+    public ResponseEntity<AiAnalysisResponse> analyze(@Valid @RequestBody AiAnalysisRequest request) {
+        return ResponseEntity.ok(searchAdmission.analyze(request));
+    }
+
+    @PostMapping("/ponder")
+    public ResponseEntity<Void> ponder(@Valid @RequestBody AiPonderRequest request) {
+        boolean started = ponderService.ponder(request);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+
+    @DeleteMapping("/ponder/{gameId}")
+    public ResponseEntity<Void> cancelPonder(@PathVariable UUID gameId) {
+        ponderService.cancel(gameId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/health")
@@ -0,0 +1,15 @@
+package com.ranked4.ai.dto;
+
+import java.util.List;
+
+import com.ranked4.engine.GameValue;
+
+public record AiAnalysisResponse(
+    int bestColumn,
+    boolean isWinningMove,
+    GameValue gameValue,
+    List<AiColumnScore> columns,
+    List<Integer> principalVariation,
+    int depth,
+    boolean solved
+) {}
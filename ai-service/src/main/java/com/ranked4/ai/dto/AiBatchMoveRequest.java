@@ -0,0 +1,11 @@
+package com.ranked4.ai.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record AiBatchMoveRequest(
+        @NotEmpty(message = "At least one job is required") @Size(max = 256, message = "A batch holds at most 256 jobs") List<@Valid AiMoveRequest> jobs) {
+}
@@ -0,0 +1,11 @@
+package com.ranked4.ai.dto;
+
+/**
+ * One line of the {@code /next-moves} stream: the job's position in the
+ * request and either its move or the reason it failed.
+ */
+public record AiBatchMoveResult(
+    int index,
+    AiMoveResponse move,
+    String error
+) {}
@@ -0,0 +1,14 @@
+package com.ranked4.ai.dto;
+
+import com.ranked4.engine.GameValue;
+
+/**
+ * Score of one playable column for the player to move: a solver score when
+ * the analysis is solved, a heuristic score otherwise. The game value is
+ * only set when the outcome after that move is proven.
+ */
+public record AiColumnScore(
+    int column,
+    int score,
+    GameValue gameValue
+) {}
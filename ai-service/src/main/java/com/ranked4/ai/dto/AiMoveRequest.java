@@ -1,14 +1,23 @@
 package com.ranked4.ai.dto;
 
+import java.util.UUID;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 
 public record AiMoveRequest(
         @NotBlank(message = "Grid is required") @Pattern(regexp = "^[012]{42}$", message = "Grid must be 42 characters of 0, 1, or 2") String grid,
 
         @Min(value = 1, message = "Difficulty must be between 1 and 4") @Max(value = 4, message = "Difficulty must be between 1 and 4") int difficulty,
 
-        @Min(value = 1, message = "AI player ID must be 1 or 2") @Max(value = 2, message = "AI player ID must be 1 or 2") int aiPlayerId) {
-}
\ No newline at end of file
+        @Min(value = 1, message = "AI player ID must be 1 or 2") @Max(value = 2, message = "AI player ID must be 1 or 2") int aiPlayerId,
+
+        @Positive(message = "Time budget must be positive") Long timeBudgetMs,
+
+        Boolean includeStats,
+
+        UUID gameId) {
+}
@@ -1,6 +1,10 @@
 package com.ranked4.ai.dto;
 
+import com.ranked4.engine.GameValue;
+
 public record AiMoveResponse(
     int column,
-    boolean isWinningMove
+    boolean isWinningMove,
+    GameValue gameValue,
+    AiSearchStats stats
 ) {}
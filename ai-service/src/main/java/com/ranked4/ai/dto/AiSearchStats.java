@@ -0,0 +1,10 @@
+package com.ranked4.ai.dto;
+
+public record AiSearchStats(
+    String source,
+    int depth,
+    long nodes,
+    double tableHitRate,
+    double cutoffRate,
+    double elapsedMs
+) {}
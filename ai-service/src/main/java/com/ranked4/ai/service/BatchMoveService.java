@@ -0,0 +1,109 @@
+package com.ranked4.ai.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.ranked4.ai.dto.AiBatchMoveResult;
+import com.ranked4.ai.dto.AiMoveRequest;
+
+/**
+ * Runs the jobs of a {@code /next-moves} request concurrently on the bounded
+ * batch executor and streams one JSON line per job as soon as it finishes,
+ * so results arrive in completion order, tagged with the job's index.
+ * <p>
+ * A job's time budget counts from the moment the batch was received, so time
+ * spent queued behind other jobs comes out of it. Jobs the executor cannot
+ * queue fail with a busy error instead of blocking the request thread; the
+ * searches themselves go through {@link SearchAdmission} like single moves.
+ */
+@Service
+public class BatchMoveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMoveService.class);
+
+    private final SearchAdmission searchAdmission;
+    private final ExecutorService batchExecutor;
+    private final long timeoutMs;
+
+    public BatchMoveService(SearchAdmission searchAdmission,
+            @Qualifier("batchExecutor") ExecutorService batchExecutor,
+            @Value("${ai.batch.timeout-ms:30000}") long timeoutMs) {
+        this.searchAdmission = searchAdmission;
+        this.batchExecutor = batchExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public ResponseBodyEmitter submit(List<AiMoveRequest> jobs) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        AtomicInteger remaining = new AtomicInteger(jobs.size());
+        AtomicBoolean cancelled = new AtomicBoolean();
+        emitter.onTimeout(() -> cancelled.set(true));
+        emitter.onError(e -> cancelled.set(true));
+
+        long receivedAt = System.nanoTime();
+        for (int i = 0; i < jobs.size(); i++) {
+            int index = i;
+            AiMoveRequest job = jobs.get(i);
+            try {
+                batchExecutor.execute(() -> {
+                    AiBatchMoveResult result = cancelled.get()
+                            ? new AiBatchMoveResult(index, null, "Batch cancelled")
+                            : run(index, job, receivedAt);
+                    send(emitter, result, remaining, cancelled);
+                });
+            } catch (RejectedExecutionException e) {
+                send(emitter, new AiBatchMoveResult(index, null, "AI service busy"), remaining, cancelled);
+            }
+        }
+        return emitter;
+    }
+
+    private AiBatchMoveResult run(int index, AiMoveRequest job, long receivedAt) {
+        try {
+            return new AiBatchMoveResult(index, searchAdmission.nextMove(withRemainingBudget(job, receivedAt)), null);
+        } catch (RuntimeException e) {
+            log.warn("Batch job {} failed: {}", index, e.getMessage());
+            return new AiBatchMoveResult(index, null, e.getMessage());
+        }
+    }
+
+    private static AiMoveRequest withRemainingBudget(AiMoveRequest job, long receivedAt) {
+        if (job.timeBudgetMs() == null) {
+            return job;
+        }
+        long waitedMs = (System.nanoTime() - receivedAt) / 1_000_000L;
+        long budget = Math.max(1, job.timeBudgetMs() - waitedMs);
+        return new AiMoveRequest(job.grid(), job.difficulty(), job.aiPlayerId(), budget, job.includeStats(),
+                job.gameId());
+    }
+
+    private static void send(ResponseBodyEmitter emitter, AiBatchMoveResult result, AtomicInteger remaining,
+            AtomicBoolean cancelled) {
+        if (!cancelled.get()) {
+            synchronized (emitter) {
+                try {
+                    emitter.send(result, MediaType.APPLICATION_JSON);
+                    emitter.send("\n", MediaType.TEXT_PLAIN);
+                } catch (IOException | IllegalStateException e) {
+                    cancelled.set(true);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+        if (remaining.decrementAndGet() == 0 && !cancelled.get()) {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ranked4.ai.service;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.GameValue;
+
+/**
+ * A chosen move as kept in the move cache and, when it was solved, the
+ * position's value. {@code unique} is set when the search scored the move
+ * strictly above every other, the only case where its mirror image is the
+ * move the engine picks in the mirrored position.
+ */
+public record CachedMove(int column, GameValue gameValue, boolean unique) {
+
+    public static final int ENTRY_BYTES = 128;
+
+    /**
+     * The move for the mirrored position, or null when it cannot be derived
+     * from this one.
+     */
+    public CachedMove mirror() {
+        return unique ? new CachedMove(Bitboard.WIDTH - 1 - column, gameValue, true) : null;
+    }
+}
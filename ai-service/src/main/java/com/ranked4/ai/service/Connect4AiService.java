@@ -1,299 +1,185 @@
 package com.ranked4.ai.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.ranked4.ai.dto.AiAnalysisRequest;
+import com.ranked4.ai.dto.AiAnalysisResponse;
+import com.ranked4.ai.dto.AiColumnScore;
+import com.ranked4.ai.dto.AiMoveRequest;
+import com.ranked4.ai.dto.AiMoveResponse;
+import com.ranked4.ai.dto.AiSearchStats;
+import com.ranked4.engine.AlphaBetaSearch;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.SearchAnalysis;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.SearchStatistics;
+import com.ranked4.engine.Solver;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.TranspositionTable;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 @Service
 public class Connect4AiService {
-    private static final int ROWS = 6;
-    private static final int COLS = 7;
-    private static final int WIN_LENGTH = 4;
-    private static final int MAX_SCORE = 1000000;
-    private static final Random random = new Random();
-
-    public int calculateBestMove(String grid, int difficulty, int aiPlayerId) {
-        int opponentId = aiPlayerId == 1 ? 2 : 1;
-
-        int maxDepth = switch (difficulty) {
-            case 1 -> 4; // Easy
-            case 2 -> 5; // Medium
-            case 3 -> 6; // Hard
-            case 4 -> 8; // Very Hard
-            default -> 5;
-        };
-
-        if (difficulty == 1 && random.nextInt(100) < 80) {
-            List<Integer> validMoves = getValidMoves(grid);
-            return validMoves.get(random.nextInt(validMoves.size()));
-        }
-
-        List<Integer> validMoves = getValidMoves(grid);
-        if (validMoves.isEmpty()) {
-            throw new IllegalStateException("No valid moves available");
+    private final TranspositionTable transpositionTable;
+    private final SolverTable solverTable;
+    private final SearchMetrics searchMetrics;
+    private final PositionCache<AiAnalysisResponse> analysisCache;
+    private final Map<Difficulty, MoveStrategy> strategies = new EnumMap<>(Difficulty.class);
+    private final int threadsPerRequest;
+    private final boolean solverEnabled;
+    private final long solverBudgetMs;
+
+    public Connect4AiService(TranspositionTable transpositionTable, SolverTable solverTable,
+            SearchMetrics searchMetrics, PositionCache<AiAnalysisResponse> analysisCache,
+            MinimaxStrategy minimaxStrategy, MctsStrategy mctsStrategy,
+            @Value("${ai.mcts.difficulties:}") List<Integer> mctsDifficulties,
+            @Value("${ai.search.parallel.threads-per-request:4}") int threadsPerRequest,
+            @Value("${ai.solver.enabled:true}") boolean solverEnabled,
+            @Value("${ai.solver.time-budget-ms:1000}") long solverBudgetMs) {
+        this.transpositionTable = transpositionTable;
+        this.solverTable = solverTable;
+        this.searchMetrics = searchMetrics;
+        this.analysisCache = analysisCache;
+        this.threadsPerRequest = threadsPerRequest;
+        this.solverEnabled = solverEnabled;
+        this.solverBudgetMs = solverBudgetMs;
+
+        for (Difficulty level : Difficulty.values()) {
+            strategies.put(level, mctsDifficulties.contains(level.getLevel()) ? mctsStrategy : minimaxStrategy);
         }
-
-        int bestMove = validMoves.get(0);
-        int bestScore = Integer.MIN_VALUE;
-
-        for (int col : validMoves) {
-            String newGrid = makeMove(grid, col, aiPlayerId);
-            int score = minimax(newGrid, maxDepth - 1, false, aiPlayerId, opponentId, Integer.MIN_VALUE,
-                    Integer.MAX_VALUE);
-
-            if (score > bestScore) {
-                bestScore = score;
-                bestMove = col;
-            }
-        }
-
-        return bestMove;
     }
 
-    public boolean isWinningMove(String grid, int column, int aiPlayerId) {
-        String newGrid = makeMove(grid, column, aiPlayerId);
-        Integer winner = checkWinner(newGrid);
-        return winner != null && winner == aiPlayerId;
+    public AiMoveResponse nextMove(AiMoveRequest request) {
+        Bitboard board = Bitboard.fromGrid(request.grid(), request.aiPlayerId());
+        MoveDecision decision = choose(board, Difficulty.fromLevel(request.difficulty()), request.timeBudgetMs(),
+                request.gameId());
+        return toResponse(board, decision, Boolean.TRUE.equals(request.includeStats()));
     }
 
-    private int minimax(String grid, int depth, boolean isMaximizing, int aiPlayerId, int opponentId, int alpha,
-            int beta) {
-        Integer winner = checkWinner(grid);
-        if (winner != null) {
-            if (winner == aiPlayerId)
-                return MAX_SCORE + depth;
-            if (winner == opponentId)
-                return -MAX_SCORE - depth;
-            return 0;
-        }
+    /**
+     * Chooses a move ahead of time on a single thread, without recording it
+     * in the move metrics or filling the move cache. The search stops early
+     * once {@code cancelled} returns true. The response always carries its
+     * stats.
+     */
+    public AiMoveResponse precomputeMove(Bitboard board, Difficulty level, BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        MoveDecision decision = strategies.get(level).choose(board, level, null, cancelled, 1, null)
+                .withElapsed(System.nanoTime() - start);
+        return toResponse(board, decision, true);
+    }
 
-        List<Integer> validMoves = getValidMoves(grid);
-        if (depth == 0 || validMoves.isEmpty()) {
-            return evaluatePosition(grid, aiPlayerId, opponentId);
+    /**
+     * Scores every playable column with one search, solved exactly when the
+     * solver finishes within its budget, and caches the result like moves.
+     */
+    public AiAnalysisResponse analyze(AiAnalysisRequest request) {
+        Bitboard board = Bitboard.fromGrid(request.grid(), request.playerToMove());
+        if (board.isFull()) {
+            throw new IllegalArgumentException("Position has no legal moves");
         }
 
-        if (isMaximizing) {
-            int maxScore = Integer.MIN_VALUE;
-            for (int col : validMoves) {
-                String newGrid = makeMove(grid, col, aiPlayerId);
-                int score = minimax(newGrid, depth - 1, false, aiPlayerId, opponentId, alpha, beta);
-                maxScore = Math.max(maxScore, score);
-                alpha = Math.max(alpha, score);
-                if (beta <= alpha)
-                    break;
-            }
-            return maxScore;
-        } else {
-            int minScore = Integer.MAX_VALUE;
-            for (int col : validMoves) {
-                String newGrid = makeMove(grid, col, opponentId);
-                int score = minimax(newGrid, depth - 1, true, aiPlayerId, opponentId, alpha, beta);
-                minScore = Math.min(minScore, score);
-                beta = Math.min(beta, score);
-                if (beta <= alpha)
-                    break;
-            }
-            return minScore;
+        Difficulty level = Difficulty.fromLevel(request.difficulty());
+        Long timeBudgetMs = request.timeBudgetMs();
+        if (timeBudgetMs != null && timeBudgetMs < level.getTimeBudgetMs()) {
+            AiAnalysisResponse cached = analysisCache.lookup(board, level);
+            return cached != null ? cached : analyzeNow(board, level, timeBudgetMs);
         }
+        return analysisCache.getOrSearch(board, level, () -> analyzeNow(board, level, null));
     }
 
-    private int evaluatePosition(String grid, int aiPlayerId, int opponentId) {
-        int score = 0;
-
-        score += evaluateCenter(grid, aiPlayerId, opponentId);
-
-        score += evaluateWindows(grid, aiPlayerId, opponentId);
-
-        return score;
+    public int calculateBestMove(String grid, int difficulty, int aiPlayerId) {
+        return calculateBestMove(grid, difficulty, aiPlayerId, null);
     }
 
-    private int evaluateCenter(String grid, int aiPlayerId, int opponentId) {
-        int centerCol = COLS / 2;
-        int centerCount = 0;
-
-        for (int row = 0; row < ROWS; row++) {
-            int index = row * COLS + centerCol;
-            char cell = grid.charAt(index);
-            if (cell == Character.forDigit(aiPlayerId, 10)) {
-                centerCount += 3;
-            } else if (cell == Character.forDigit(opponentId, 10)) {
-                centerCount -= 3;
-            }
-        }
-
-        return centerCount;
+    public int calculateBestMove(String grid, int difficulty, int aiPlayerId, Long timeBudgetMs) {
+        Bitboard board = Bitboard.fromGrid(grid, aiPlayerId);
+        return choose(board, Difficulty.fromLevel(difficulty), timeBudgetMs, null).column();
     }
 
-    private int evaluateWindows(String grid, int aiPlayerId, int opponentId) {
-        int score = 0;
-
-        for (int row = 0; row < ROWS; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                List<Character> window = new ArrayList<>();
-                for (int i = 0; i < WIN_LENGTH; i++) {
-                    window.add(grid.charAt(row * COLS + col + i));
-                }
-                score += evaluateWindow(window, aiPlayerId, opponentId);
-            }
-        }
-
-        for (int col = 0; col < COLS; col++) {
-            for (int row = 0; row <= ROWS - WIN_LENGTH; row++) {
-                List<Character> window = new ArrayList<>();
-                for (int i = 0; i < WIN_LENGTH; i++) {
-                    window.add(grid.charAt((row + i) * COLS + col));
-                }
-                score += evaluateWindow(window, aiPlayerId, opponentId);
-            }
-        }
-
-        for (int row = 0; row <= ROWS - WIN_LENGTH; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                List<Character> window = new ArrayList<>();
-                for (int i = 0; i < WIN_LENGTH; i++) {
-                    window.add(grid.charAt((row + i) * COLS + col + i));
-                }
-                score += evaluateWindow(window, aiPlayerId, opponentId);
-            }
-        }
-
-        for (int row = WIN_LENGTH - 1; row < ROWS; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                List<Character> window = new ArrayList<>();
-                for (int i = 0; i < WIN_LENGTH; i++) {
-                    window.add(grid.charAt((row - i) * COLS + col + i));
-                }
-                score += evaluateWindow(window, aiPlayerId, opponentId);
-            }
-        }
-
-        return score;
+    public boolean isWinningMove(String grid, int column, int aiPlayerId) {
+        Bitboard board = Bitboard.fromGrid(grid, aiPlayerId);
+        return board.canPlay(column) && board.isWinningMove(column);
     }
 
-    private int evaluateWindow(List<Character> window, int aiPlayerId, int opponentId) {
-        char aiChar = Character.forDigit(aiPlayerId, 10);
-        char oppChar = Character.forDigit(opponentId, 10);
-
-        long aiCount = window.stream().filter(c -> c == aiChar).count();
-        long oppCount = window.stream().filter(c -> c == oppChar).count();
-        long emptyCount = window.stream().filter(c -> c == '0').count();
-
-        if (aiCount == 4)
-            return 100;
-        if (oppCount == 4)
-            return -100;
-
-        if (aiCount == 3 && emptyCount == 1)
-            return 5;
-        if (aiCount == 2 && emptyCount == 2)
-            return 2;
-
-        if (oppCount == 3 && emptyCount == 1)
-            return -50;
-        if (oppCount == 2 && emptyCount == 2)
-            return -2;
-
-        return 0;
+    private MoveDecision choose(Bitboard board, Difficulty level, Long timeBudgetMs, UUID gameId) {
+        long start = System.nanoTime();
+        MoveDecision decision = strategies.get(level).choose(board, level, timeBudgetMs, null, threadsPerRequest, gameId)
+                .withElapsed(System.nanoTime() - start);
+        searchMetrics.record(level, decision.source(), decision.statistics(), decision.elapsedNanos());
+        return decision;
     }
 
-    private Integer checkWinner(String grid) {
-        for (int row = 0; row < ROWS; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                char first = grid.charAt(row * COLS + col);
-                if (first != '0') {
-                    boolean win = true;
-                    for (int i = 1; i < WIN_LENGTH; i++) {
-                        if (grid.charAt(row * COLS + col + i) != first) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win)
-                        return Character.getNumericValue(first);
-                }
-            }
+    private static AiMoveResponse toResponse(Bitboard board, MoveDecision decision, boolean includeStats) {
+        AiSearchStats stats = null;
+        if (includeStats) {
+            SearchStatistics statistics = decision.statistics();
+            stats = new AiSearchStats(decision.source().name().toLowerCase(Locale.ROOT), statistics.depth(),
+                    statistics.nodes(), statistics.tableHitRate(), statistics.cutoffRate(),
+                    decision.elapsedNanos() / 1e6);
         }
+        return new AiMoveResponse(decision.column(), board.isWinningMove(decision.column()), decision.gameValue(),
+                stats);
+    }
 
-        for (int col = 0; col < COLS; col++) {
-            for (int row = 0; row <= ROWS - WIN_LENGTH; row++) {
-                char first = grid.charAt(row * COLS + col);
-                if (first != '0') {
-                    boolean win = true;
-                    for (int i = 1; i < WIN_LENGTH; i++) {
-                        if (grid.charAt((row + i) * COLS + col) != first) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win)
-                        return Character.getNumericValue(first);
-                }
-            }
+    private AiAnalysisResponse analyzeNow(Bitboard board, Difficulty level, Long timeBudgetMs) {
+        SearchLimits limits = level.limits(timeBudgetMs);
+        SearchAnalysis analysis = null;
+        if (solverEnabled) {
+            // Leave at least half of the budget to the heuristic search when the position is too early to solve
+            long budget = timeBudgetMs != null ? Math.min(timeBudgetMs, level.getTimeBudgetMs()) : level.getTimeBudgetMs();
+            long solverBudget = Math.min(solverBudgetMs, budget / 2);
+            analysis = new Solver(solverTable).analyze(board, limits.capped(solverBudget));
         }
-
-        for (int row = 0; row <= ROWS - WIN_LENGTH; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                char first = grid.charAt(row * COLS + col);
-                if (first != '0') {
-                    boolean win = true;
-                    for (int i = 1; i < WIN_LENGTH; i++) {
-                        if (grid.charAt((row + i) * COLS + col + i) != first) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win)
-                        return Character.getNumericValue(first);
-                }
-            }
+        if (analysis == null) {
+            analysis = new AlphaBetaSearch(board, transpositionTable).analyze(limits);
         }
 
-        for (int row = WIN_LENGTH - 1; row < ROWS; row++) {
-            for (int col = 0; col <= COLS - WIN_LENGTH; col++) {
-                char first = grid.charAt(row * COLS + col);
-                if (first != '0') {
-                    boolean win = true;
-                    for (int i = 1; i < WIN_LENGTH; i++) {
-                        if (grid.charAt((row - i) * COLS + col + i) != first) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win)
-                        return Character.getNumericValue(first);
-                }
+        List<AiColumnScore> columns = new ArrayList<>();
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (analysis.scores()[col] != SearchAnalysis.NO_SCORE) {
+                columns.add(new AiColumnScore(col, analysis.scores()[col], analysis.values()[col]));
             }
         }
-
-        if (!grid.contains("0"))
-            return 0;
-
-        return null;
+        int best = analysis.bestMove();
+        return new AiAnalysisResponse(best, board.isWinningMove(best), analysis.values()[best], columns,
+                Arrays.stream(analysis.principalVariation()).boxed().toList(), analysis.depth(), analysis.solved());
     }
 
-    private List<Integer> getValidMoves(String grid) {
-        List<Integer> validMoves = new ArrayList<>();
-        for (int col = 0; col < COLS; col++) {
-            if (grid.charAt(col) == '0') {
-                validMoves.add(col);
-            }
-        }
-        return validMoves;
-    }
-
-    private String makeMove(String grid, int col, int playerId) {
-        char[] gridArray = grid.toCharArray();
-
-        for (int row = ROWS - 1; row >= 0; row--) {
-            int index = row * COLS + col;
-            if (gridArray[index] == '0') {
-                gridArray[index] = Character.forDigit(playerId, 10);
-                break;
-            }
-        }
-
-        return new String(gridArray);
+    /**
+     * An analysis of the mirror image of the position it was made for, or
+     * null when another column scores as high as the best one: the mirrored
+     * search would then pick a different column of the tie.
+     */
+    public static AiAnalysisResponse mirror(AiAnalysisResponse analysis) {
+        int bestScore = analysis.columns().stream()
+                .filter(c -> c.column() == analysis.bestColumn())
+                .findFirst()
+                .orElseThrow()
+                .score();
+        if (analysis.columns().stream().filter(c -> c.score() == bestScore).count() > 1) {
+            return null;
+        }
+
+        List<AiColumnScore> columns = analysis.columns().stream()
+                .map(c -> new AiColumnScore(Bitboard.WIDTH - 1 - c.column(), c.score(), c.gameValue()))
+                .sorted(Comparator.comparingInt(AiColumnScore::column))
+                .toList();
+        List<Integer> line = analysis.principalVariation().stream()
+                .map(col -> Bitboard.WIDTH - 1 - col)
+                .toList();
+        return new AiAnalysisResponse(Bitboard.WIDTH - 1 - analysis.bestColumn(), analysis.isWinningMove(),
+                analysis.gameValue(), columns, line, analysis.depth(), analysis.solved());
     }
 }
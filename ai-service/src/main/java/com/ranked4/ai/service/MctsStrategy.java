@@ -0,0 +1,133 @@
+package com.ranked4.ai.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.MonteCarloSearch;
+import com.ranked4.engine.SearchLimits;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Monte Carlo tree search with a fixed number of playouts per difficulty
+ * ({@code ai.mcts.playouts.*}), so a move costs about the same CPU in every
+ * position. Its strength comes from the playout count alone: no random
+ * moves, book, solver or move cache, and two searches of one position may
+ * differ.
+ * <p>
+ * The tree of each game is kept for its next move and re-rooted at the new
+ * position, for at most {@code ai.mcts.max-trees} games, least recently used
+ * first out, and {@code ai.mcts.tree-ttl-ms} after their last move. Moves
+ * without a game id search a fresh tree.
+ */
+@Component
+public class MctsStrategy implements MoveStrategy {
+
+    private final ForkJoinPool searchPool;
+    private final Map<Difficulty, Integer> playouts = new EnumMap<>(Difficulty.class);
+    private final Map<UUID, GameTree> trees;
+    private final long ttlNanos;
+    private final Counter reused;
+    private final Counter created;
+
+    public MctsStrategy(ForkJoinPool searchPool, MeterRegistry meterRegistry,
+            @Value("${ai.mcts.playouts.easy:200}") int easyPlayouts,
+            @Value("${ai.mcts.playouts.medium:1000}") int mediumPlayouts,
+            @Value("${ai.mcts.playouts.hard:5000}") int hardPlayouts,
+            @Value("${ai.mcts.playouts.very-hard:20000}") int veryHardPlayouts,
+            @Value("${ai.mcts.max-trees:64}") int maxTrees,
+            @Value("${ai.mcts.tree-ttl-ms:300000}") long ttlMs) {
+        this.searchPool = searchPool;
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, GameTree> eldest) {
+                return size() > maxTrees;
+            }
+        };
+
+        playouts.put(Difficulty.EASY, easyPlayouts);
+        playouts.put(Difficulty.MEDIUM, mediumPlayouts);
+        playouts.put(Difficulty.HARD, hardPlayouts);
+        playouts.put(Difficulty.VERY_HARD, veryHardPlayouts);
+
+        Gauge.builder("ai.mcts.trees", this, MctsStrategy::treeCount)
+                .description("Game trees kept for their next move")
+                .register(meterRegistry);
+        reused = Counter.builder("ai.mcts.tree.lookups")
+                .description("MCTS moves by whether the game's tree was reused")
+                .tag("result", "reused")
+                .register(meterRegistry);
+        created = Counter.builder("ai.mcts.tree.lookups")
+                .description("MCTS moves by whether the game's tree was reused")
+                .tag("result", "new")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public MoveDecision choose(Bitboard board, Difficulty level, Long timeBudgetMs, BooleanSupplier cancelled,
+            int threads, UUID gameId) {
+        MonteCarloSearch search = treeFor(gameId, board, level, threads);
+        SearchLimits limits = level.limits(timeBudgetMs);
+        int move = search.bestMove(cancelled != null ? limits.cancelledWhen(cancelled) : limits, playouts.get(level));
+        return MoveDecision.of(move, null, MoveSource.MCTS, search.statistics());
+    }
+
+    private MonteCarloSearch treeFor(UUID gameId, Bitboard board, Difficulty level, int threads) {
+        if (gameId == null) {
+            return new MonteCarloSearch(board, searchPool, threads);
+        }
+
+        long now = System.nanoTime();
+        GameTree tree;
+        synchronized (trees) {
+            trees.values().removeIf(t -> now - t.lastUsed > ttlNanos);
+            tree = trees.get(gameId);
+            if (tree == null || tree.level != level || tree.threads != threads) {
+                tree = new GameTree(new MonteCarloSearch(board, searchPool, threads), level, threads);
+                trees.put(gameId, tree);
+                created.increment();
+                tree.lastUsed = now;
+                return tree.search;
+            }
+            tree.lastUsed = now;
+        }
+
+        if (tree.search.advance(board)) {
+            reused.increment();
+        } else {
+            created.increment();
+        }
+        return tree.search;
+    }
+
+    private int treeCount() {
+        synchronized (trees) {
+            return trees.size();
+        }
+    }
+
+    private static final class GameTree {
+        private final MonteCarloSearch search;
+        private final Difficulty level;
+        private final int threads;
+        private long lastUsed;
+
+        GameTree(MonteCarloSearch search, Difficulty level, int threads) {
+            this.search = search;
+            this.level = level;
+            this.threads = threads;
+        }
+    }
+}
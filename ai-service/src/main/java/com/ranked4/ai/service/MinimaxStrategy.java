@@ -0,0 +1,205 @@
+package com.ranked4.ai.service;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ranked4.engine.AlphaBetaSearch;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.GameValue;
+import com.ranked4.engine.MoveChooser;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.ParallelSearch;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.SearchStatistics;
+import com.ranked4.engine.Solver;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.Tactics;
+import com.ranked4.engine.TranspositionTable;
+
+/**
+ * The default engine: the difficulty's share of random moves, then forced
+ * moves found by {@link Tactics}, then the move cache and the persistent
+ * {@link PositionStore} in front of the opening book, the solver for perfect
+ * play and the depth-limited alpha-beta search.
+ */
+@Component
+public class MinimaxStrategy implements MoveStrategy {
+
+    private final TranspositionTable transpositionTable;
+    private final ForkJoinPool searchPool;
+    private final OpeningBook openingBook;
+    private final SolverTable solverTable;
+    private final MoveChooser moveChooser;
+    private final PositionCache<CachedMove> moveCache;
+    private final PositionStore positionStore;
+    private final int parallelMinDifficulty;
+    private final int tableMinDifficulty;
+    private final int bookMinDifficulty;
+    private final boolean solverEnabled;
+    private final long solverBudgetMs;
+    private final int storeMinDifficulty;
+
+    public MinimaxStrategy(TranspositionTable transpositionTable, ForkJoinPool searchPool, OpeningBook openingBook,
+            SolverTable solverTable, PositionCache<CachedMove> moveCache, PositionStore positionStore,
+            @Value("${ai.search.parallel.min-difficulty:3}") int parallelMinDifficulty,
+            @Value("${ai.search.table.min-difficulty:3}") int tableMinDifficulty,
+            @Value("${ai.opening-book.min-difficulty:3}") int bookMinDifficulty,
+            @Value("${ai.solver.enabled:true}") boolean solverEnabled,
+            @Value("${ai.solver.time-budget-ms:1000}") long solverBudgetMs,
+            @Value("${ai.store.min-difficulty:3}") int storeMinDifficulty) {
+        this.transpositionTable = transpositionTable;
+        this.searchPool = searchPool;
+        this.openingBook = openingBook;
+        this.solverTable = solverTable;
+        this.moveChooser = new MoveChooser(new Random());
+        this.moveCache = moveCache;
+        this.positionStore = positionStore;
+        this.parallelMinDifficulty = parallelMinDifficulty;
+        this.tableMinDifficulty = tableMinDifficulty;
+        this.bookMinDifficulty = bookMinDifficulty;
+        this.solverEnabled = solverEnabled;
+        this.solverBudgetMs = solverBudgetMs;
+        this.storeMinDifficulty = storeMinDifficulty;
+    }
+
+    @Override
+    public MoveDecision choose(Bitboard board, Difficulty level, Long timeBudgetMs, BooleanSupplier cancelled,
+            int threads, UUID gameId) {
+        if (moveChooser.rollsRandomMove(level)) {
+            return MoveDecision.of(moveChooser.randomMove(board), null, MoveSource.RANDOM, SearchStatistics.NONE);
+        }
+
+        int forced = Tactics.forcedMove(board);
+        if (forced != Tactics.NO_MOVE) {
+            return MoveDecision.of(forced, forcedValue(board, forced), MoveSource.TACTICS, SearchStatistics.NONE);
+        }
+
+        // A shortened or cancellable search may be weaker than the cached ones: read the cache but never fill it
+        if (cancelled != null || (timeBudgetMs != null && timeBudgetMs < level.getTimeBudgetMs())) {
+            CachedMove cached = moveCache.lookup(board, level);
+            if (cached != null) {
+                return MoveDecision.of(cached.column(), cached.gameValue(), MoveSource.CACHE, SearchStatistics.NONE);
+            }
+            MoveDecision stored = storedMove(board, level);
+            return stored != null ? stored : search(board, level, timeBudgetMs, cancelled, threads);
+        }
+
+        MoveDecision[] found = new MoveDecision[1];
+        CachedMove move = moveCache.getOrSearch(board, level, () -> {
+            found[0] = storedMove(board, level);
+            if (found[0] == null) {
+                found[0] = search(board, level, timeBudgetMs, null, threads);
+                storeMove(board, level, found[0]);
+            }
+            return new CachedMove(found[0].column(), found[0].gameValue(), found[0].unique());
+        });
+        if (found[0] != null) {
+            return found[0];
+        }
+        return MoveDecision.of(move.column(), move.gameValue(), MoveSource.CACHE, SearchStatistics.NONE);
+    }
+
+    /**
+     * Chooses a move without the cache: from the opening book, the solver
+     * for perfect play, or else a heuristic search.
+     */
+    private MoveDecision search(Bitboard board, Difficulty level, Long timeBudgetMs, BooleanSupplier cancelled,
+            int threads) {
+        boolean perfectPlay = solverEnabled && level.isPerfectPlay();
+        if (level.getLevel() >= bookMinDifficulty) {
+            OpeningBook.Entry entry = openingBook.lookupEntry(board);
+            if (entry != null && board.canPlay(entry.move())) {
+                if (entry.isSolved()) {
+                    return MoveDecision.of(entry.move(), GameValue.fromScore(entry.score(), board.moveCount()),
+                            MoveSource.BOOK, SearchStatistics.NONE);
+                }
+                if (!perfectPlay) {
+                    return MoveDecision.of(entry.move(), null, MoveSource.BOOK, SearchStatistics.NONE);
+                }
+            }
+        }
+
+        SearchLimits limits = cancelled != null
+                ? level.limits(timeBudgetMs).cancelledWhen(cancelled)
+                : level.limits(timeBudgetMs);
+        SearchStatistics solverStatistics = SearchStatistics.NONE;
+        if (perfectPlay) {
+            Solver solver = new Solver(solverTable);
+            Solver.SolvedMove solved = solver.bestMove(board, limits.capped(solverBudgetMs));
+            if (solved != null) {
+                return MoveDecision.of(solved.column(), GameValue.fromScore(solved.score(), board.moveCount()),
+                        MoveSource.SOLVER, solver.statistics());
+            }
+            solverStatistics = solver.statistics();
+        }
+
+        if (level.getLevel() >= parallelMinDifficulty && threads > 1) {
+            ParallelSearch search = new ParallelSearch(board, transpositionTable, searchPool, threads);
+            int move = search.bestMove(limits);
+            return searched(move, search.isBestMoveUnique(), searchStatistics(solverStatistics, search.statistics()));
+        }
+        AlphaBetaSearch search = level.getLevel() >= tableMinDifficulty
+                ? new AlphaBetaSearch(board, transpositionTable)
+                : moveChooser.newSearch(board);
+        int move = search.bestMove(limits);
+        return searched(move, search.isBestMoveUnique(), searchStatistics(solverStatistics, search.statistics()));
+    }
+
+    private static MoveDecision searched(int move, boolean unique, SearchStatistics statistics) {
+        return unique
+                ? MoveDecision.unique(move, MoveSource.SEARCH, statistics)
+                : MoveDecision.of(move, null, MoveSource.SEARCH, statistics);
+    }
+
+    private MoveDecision storedMove(Bitboard board, Difficulty level) {
+        if (level.getLevel() < storeMinDifficulty) {
+            return null;
+        }
+        CachedMove stored = positionStore.lookup(board, level);
+        return stored != null
+                ? MoveDecision.of(stored.column(), stored.gameValue(), MoveSource.STORE, SearchStatistics.NONE)
+                : null;
+    }
+
+    /**
+     * Keeps searched and solved moves of the deeper levels in the persistent
+     * store; book moves are already on disk.
+     */
+    private void storeMove(Bitboard board, Difficulty level, MoveDecision decision) {
+        if (level.getLevel() >= storeMinDifficulty
+                && (decision.source() == MoveSource.SEARCH || decision.source() == MoveSource.SOLVER)) {
+            positionStore.record(board, level,
+                    new CachedMove(decision.column(), decision.gameValue(), decision.unique()));
+        }
+    }
+
+    /**
+     * A forced move wins now, or loses on the opponent's next move when no
+     * move stops all of their wins; otherwise its value is unknown.
+     */
+    private static GameValue forcedValue(Bitboard board, int column) {
+        if (board.isWinningMove(column)) {
+            return new GameValue(GameValue.Outcome.WIN, 1);
+        }
+        if (Tactics.nonLosingMoves(board.currentStones(), board.mask()) == 0) {
+            return new GameValue(GameValue.Outcome.LOSS, 2);
+        }
+        return null;
+    }
+
+    /**
+     * Statistics of a heuristic search, with the work of a solve that ran
+     * out of time before it added in, but the search's own depth.
+     */
+    private static SearchStatistics searchStatistics(SearchStatistics abandonedSolve, SearchStatistics search) {
+        SearchStatistics combined = search.plus(abandonedSolve);
+        return new SearchStatistics(combined.nodes(), search.depth(), combined.tableProbes(), combined.tableHits(),
+                combined.expandedNodes(), combined.cutoffs());
+    }
+}
@@ -0,0 +1,28 @@
+package com.ranked4.ai.service;
+
+import com.ranked4.engine.GameValue;
+import com.ranked4.engine.SearchStatistics;
+
+/**
+ * A chosen move with where it came from, the game value when it is known,
+ * whether it is known to be the only best move, and the work and time it
+ * took.
+ */
+public record MoveDecision(int column, GameValue gameValue, boolean unique, MoveSource source,
+        SearchStatistics statistics, long elapsedNanos) {
+
+    public static MoveDecision of(int column, GameValue gameValue, MoveSource source, SearchStatistics statistics) {
+        return new MoveDecision(column, gameValue, false, source, statistics, 0L);
+    }
+
+    /**
+     * A move found by a search that scored it strictly above every other.
+     */
+    public static MoveDecision unique(int column, MoveSource source, SearchStatistics statistics) {
+        return new MoveDecision(column, null, true, source, statistics, 0L);
+    }
+
+    public MoveDecision withElapsed(long elapsedNanos) {
+        return new MoveDecision(column, gameValue, unique, source, statistics, elapsedNanos);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ranked4.ai.service;
+
+/**
+ * Where an AI move came from, used to tag metrics and per-request stats.
+ */
+public enum MoveSource {
+    RANDOM,
+    TACTICS,
+    BOOK,
+    SOLVER,
+    SEARCH,
+    PONDER,
+    CACHE,
+    STORE,
+    MCTS
+}
@@ -0,0 +1,24 @@
+package com.ranked4.ai.service;
+
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+
+/**
+ * An engine that chooses the AI's moves, picked per difficulty by
+ * {@link Connect4AiService}.
+ */
+public interface MoveStrategy {
+
+    /**
+     * Chooses a move for the side to move on {@code board}, using up to
+     * {@code threads} threads. {@code timeBudgetMs} may shorten the
+     * difficulty's budget; {@code cancelled}, when not null, stops the search
+     * early like an expired budget, and such a move is never cached;
+     * {@code gameId} is null when the move is not part of a known game.
+     */
+    MoveDecision choose(Bitboard board, Difficulty level, Long timeBudgetMs, BooleanSupplier cancelled, int threads,
+            UUID gameId);
+}
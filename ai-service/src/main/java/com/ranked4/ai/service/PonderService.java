@@ -0,0 +1,221 @@
+package com.ranked4.ai.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ranked4.ai.dto.AiMoveRequest;
+import com.ranked4.ai.dto.AiMoveResponse;
+import com.ranked4.ai.dto.AiPonderRequest;
+import com.ranked4.ai.dto.AiSearchStats;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.SearchStatistics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Searches ahead while the human is thinking. After each AI move the caller
+ * hands over the new position with its game id; the AI's answer to every
+ * human reply is then computed in the background, replies that block an AI
+ * threat first and the others center-out, and served straight away when the
+ * next {@code /next-move} for that game matches one of them.
+ * <p>
+ * Pondering runs on the small low-priority ponder executor with one thread
+ * per search, and a game holds at most one session of at most seven answers.
+ * Each search also takes a permit of its difficulty's
+ * {@link SearchAdmission} quota, and a session stops when none is free, so
+ * pondering only uses capacity that requests leave idle. A session ends when
+ * its next move is requested, when it is cancelled or replaced, or after
+ * {@code ai.ponder.ttl-ms}; the running search then stops at its next
+ * deadline check.
+ */
+@Service
+public class PonderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PonderService.class);
+
+    private final Connect4AiService aiService;
+    private final SearchAdmission searchAdmission;
+    private final ExecutorService ponderExecutor;
+    private final SearchMetrics searchMetrics;
+    private final Map<UUID, PonderSession> sessions = new ConcurrentHashMap<>();
+    private final int maxGames;
+    private final int minDifficulty;
+    private final long ttlMs;
+
+    public PonderService(Connect4AiService aiService, SearchAdmission searchAdmission,
+            @Qualifier("ponderExecutor") ExecutorService ponderExecutor,
+            SearchMetrics searchMetrics, MeterRegistry meterRegistry,
+            @Value("${ai.ponder.max-games:64}") int maxGames,
+            @Value("${ai.ponder.min-difficulty:2}") int minDifficulty,
+            @Value("${ai.ponder.ttl-ms:60000}") long ttlMs) {
+        this.aiService = aiService;
+        this.searchAdmission = searchAdmission;
+        this.ponderExecutor = ponderExecutor;
+        this.searchMetrics = searchMetrics;
+        this.maxGames = maxGames;
+        this.minDifficulty = minDifficulty;
+        this.ttlMs = ttlMs;
+
+        Gauge.builder("ai.ponder.sessions", sessions, Map::size)
+                .description("Games currently pondered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts pondering the position after an AI move, replacing any session
+     * of the same game. Returns false if the difficulty is not pondered or
+     * no capacity is left.
+     */
+    public boolean ponder(AiPonderRequest request) {
+        Difficulty level = Difficulty.fromLevel(request.difficulty());
+        if (level.getLevel() < minDifficulty) {
+            return false;
+        }
+
+        Bitboard board = Bitboard.fromGrid(request.grid(), 3 - request.aiPlayerId());
+        evictExpired();
+
+        PonderSession session = new PonderSession(board, level, System.nanoTime() + ttlMs * 1_000_000L);
+        PonderSession previous = sessions.put(request.gameId(), session);
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (sessions.size() > maxGames) {
+            sessions.remove(request.gameId(), session);
+            return false;
+        }
+
+        try {
+            session.future = ponderExecutor.submit(() -> run(request.gameId(), session));
+            return true;
+        } catch (RejectedExecutionException e) {
+            sessions.remove(request.gameId(), session);
+            return false;
+        }
+    }
+
+    public void cancel(UUID gameId) {
+        PonderSession session = sessions.remove(gameId);
+        if (session != null) {
+            session.cancel();
+        }
+    }
+
+    /**
+     * Answers from the game's pondered moves when the position was one of
+     * them, otherwise searches it now through {@link SearchAdmission}.
+     * Either way the game's session ends.
+     */
+    public AiMoveResponse nextMove(AiMoveRequest request) {
+        if (request.gameId() != null) {
+            PonderSession session = sessions.remove(request.gameId());
+            if (session != null) {
+                session.cancel();
+                Difficulty level = Difficulty.fromLevel(request.difficulty());
+                long key = Bitboard.fromGrid(request.grid(), request.aiPlayerId()).key();
+                AiMoveResponse pondered = session.level == level ? session.answers.get(key) : null;
+                if (pondered != null) {
+                    searchMetrics.record(level, MoveSource.PONDER, SearchStatistics.NONE, 0L);
+                    return withStats(pondered, Boolean.TRUE.equals(request.includeStats()));
+                }
+            }
+        }
+        return searchAdmission.nextMove(request);
+    }
+
+    private void run(UUID gameId, PonderSession session) {
+        Bitboard board = session.board;
+        long aiThreats = Bitboard.winningCells(board.opponentStones(), board.mask())
+                & Bitboard.possibleMoves(board.mask());
+
+        try {
+            for (int pass = 0; pass < 2; pass++) {
+                for (int col : Bitboard.centerOutOrder()) {
+                    boolean blocks = (aiThreats & Bitboard.columnMask(col)) != 0;
+                    if ((pass == 0) != blocks || !board.canPlay(col) || board.isWinningMove(col)) {
+                        continue;
+                    }
+                    if (session.isOver()) {
+                        return;
+                    }
+
+                    Bitboard reply = board.copy();
+                    reply.play(col);
+                    if (reply.isFull()) {
+                        continue;
+                    }
+                    AiMoveResponse answer = searchAdmission.runIfIdle(session.level,
+                            () -> aiService.precomputeMove(reply, session.level, session::isOver));
+                    if (answer == null || session.isOver()) {
+                        return;
+                    }
+                    session.answers.put(reply.key(), answer);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pondering failed for game {}: {}", gameId, e.getMessage());
+        }
+    }
+
+    private void evictExpired() {
+        sessions.forEach((gameId, session) -> {
+            if (session.isExpired() && sessions.remove(gameId, session)) {
+                session.cancel();
+            }
+        });
+    }
+
+    private static AiMoveResponse withStats(AiMoveResponse pondered, boolean includeStats) {
+        AiSearchStats stats = null;
+        if (includeStats) {
+            AiSearchStats searched = pondered.stats();
+            stats = new AiSearchStats(MoveSource.PONDER.name().toLowerCase(Locale.ROOT), searched.depth(),
+                    searched.nodes(), searched.tableHitRate(), searched.cutoffRate(), 0.0);
+        }
+        return new AiMoveResponse(pondered.column(), pondered.isWinningMove(), pondered.gameValue(), stats);
+    }
+
+    private static final class PonderSession {
+        private final Bitboard board;
+        private final Difficulty level;
+        private final long expiresAt;
+        private final Map<Long, AiMoveResponse> answers = new ConcurrentHashMap<>();
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        PonderSession(Bitboard board, Difficulty level, long expiresAt) {
+            this.board = board;
+            this.level = level;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+
+        boolean isOver() {
+            return cancelled || isExpired();
+        }
+
+        void cancel() {
+            cancelled = true;
+            Future<?> running = future;
+            if (running != null) {
+                running.cancel(false);
+            }
+        }
+    }
+}
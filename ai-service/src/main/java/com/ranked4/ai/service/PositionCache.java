@@ -0,0 +1,213 @@
+package com.ranked4.ai.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * LRU cache of search results, keyed by difficulty and position, whose key
+ * also tells the side to move since it holds that side's stones. A position
+ * missing from the cache is looked up again as its mirror image, and that
+ * result is served mirrored unless {@code mirror} returns null for it. The
+ * engine breaks ties towards the leftmost column, so a result whose best
+ * move was tied is not the mirror of what a search would return and is only
+ * served for the orientation it was searched in. Concurrent misses on the
+ * same position or on its mirror image wait for a single search; a waiter
+ * on the mirror image takes the mirrored result, or searches on its own
+ * when the result cannot be mirrored.
+ * <p>
+ * The cap is given in megabytes (0 disables the cache) and turned into an
+ * entry count from an estimated entry footprint. Meters are tagged with the
+ * cache's name.
+ */
+public class PositionCache<T> {
+
+    private final int maxEntries;
+    private final UnaryOperator<T> mirror;
+    private final Map<CacheKey, T> entries;
+    private final Map<CacheKey, CompletableFuture<Searched<T>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public PositionCache(String name, int sizeMb, int entryBytes, UnaryOperator<T> mirror,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = (int) Math.min(Integer.MAX_VALUE, (long) sizeMb * 1024 * 1024 / entryBytes);
+        this.mirror = mirror;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, T> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        FunctionCounter.builder("ai.cache.lookups", hits, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("Position cache lookups by result")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.cache.lookups", misses, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("Position cache lookups by result")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.cache.lookups", coalesced, LongAdder::sum)
+                .tag("cache", name)
+                .tag("result", "coalesced")
+                .description("Position cache lookups by result")
+                .register(meterRegistry);
+        Gauge.builder("ai.cache.size", this, PositionCache::size)
+                .tag("cache", name)
+                .description("Positions in the cache")
+                .register(meterRegistry);
+        Gauge.builder("ai.cache.hit.ratio", this, PositionCache::hitRatio)
+                .tag("cache", name)
+                .description("Share of cache lookups answered without a search of their own")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Returns the cached result for the position, or null, without searching.
+     */
+    public T lookup(Bitboard board, Difficulty level) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        T cached = find(board.key(), level);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Returns the cached result for the position, joining a search already
+     * running for it or for its mirror image, or runs {@code search} on the calling thread and
+     * caches its result.
+     */
+    public T getOrSearch(Bitboard board, Difficulty level, Supplier<T> search) {
+        if (!isEnabled()) {
+            return search.get();
+        }
+
+        long key = board.key();
+        CacheKey cacheKey = new CacheKey(key, level);
+
+        T cached = find(key, level);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CacheKey canonical = new CacheKey(Math.min(key, Bitboard.mirror(key)), level);
+        CompletableFuture<Searched<T>> own = new CompletableFuture<>();
+        CompletableFuture<Searched<T>> running = inFlight.putIfAbsent(canonical, own);
+        if (running == null) {
+            misses.increment();
+            try {
+                T searched = search(cacheKey, search);
+                own.complete(new Searched<>(key, searched));
+                return searched;
+            } catch (RuntimeException e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(canonical, own);
+            }
+        }
+
+        Searched<T> joined;
+        try {
+            joined = running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        T result = joined.position() == key ? joined.result() : mirror.apply(joined.result());
+        if (result != null) {
+            coalesced.increment();
+            return result;
+        }
+        misses.increment();
+        return search(cacheKey, search);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        long shared = hits.sum() + coalesced.sum();
+        long total = shared + misses.sum();
+        return total == 0 ? 0.0 : (double) shared / total;
+    }
+
+    /**
+     * The result cached for the position itself, else the one cached for its
+     * mirror image if it can be mirrored, else null.
+     */
+    private T find(long key, Difficulty level) {
+        T cached = get(new CacheKey(key, level));
+        if (cached != null) {
+            return cached;
+        }
+        long mirrored = Bitboard.mirror(key);
+        if (mirrored == key) {
+            return null;
+        }
+        T reflected = get(new CacheKey(mirrored, level));
+        return reflected != null ? mirror.apply(reflected) : null;
+    }
+
+    private T search(CacheKey cacheKey, Supplier<T> search) {
+        T searched = search.get();
+        synchronized (entries) {
+            entries.put(cacheKey, searched);
+        }
+        return searched;
+    }
+
+    private T get(CacheKey key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private record CacheKey(long position, Difficulty level) {
+    }
+
+    /**
+     * A search result and the position it was searched for.
+     */
+    private record Searched<T>(long position, T result) {
+    }
+}
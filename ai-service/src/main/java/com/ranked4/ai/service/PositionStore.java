@@ -0,0 +1,488 @@
+package com.ranked4.ai.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.GameValue;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves searched or solved at the deeper levels, kept in a memory-mapped file
+ * so they outlive restarts. Like {@link PositionCache}, a record is keyed
+ * by the position it was searched for and the difficulty, and answers the
+ * mirrored position only when its move is marked unique.
+ * <p>
+ * The file is a header and a fixed number of 16-byte slots, written in
+ * order: {@code (long key << 3 | level, byte move, byte outcome, byte plies,
+ * byte unique, int CRC32C of the first 12 bytes)}, outcome 0 meaning the
+ * value is unknown. An all-zero slot ends the file; a record whose checksum does not
+ * match, such as one torn by a crash, is skipped. A newer record of the same
+ * key replaces the older one, found through an in-memory index of slot
+ * numbers built when the file is opened.
+ * <p>
+ * One process per host writes, the one holding the lock on
+ * {@code <path>.lock}; the others open the file read-only and pick up new
+ * records on every sync. The writer forces dirty pages to disk on the same
+ * interval. When the file is full, or a quarter of it is stale records when
+ * it is opened, it is compacted: the live records, at most three quarters of
+ * the slots and the newest first, are rewritten to a new file that replaces
+ * it, which readers notice and reopen.
+ */
+public final class PositionStore implements AutoCloseable {
+
+    public static final int MAGIC = 0x52345053;
+    public static final int VERSION = 2;
+    public static final int RECORD_BYTES = 16;
+    public static final int HEADER_BYTES = RECORD_BYTES;
+
+    private static final Logger log = LoggerFactory.getLogger(PositionStore.class);
+    private static final PositionStore DISABLED = new PositionStore();
+
+    private final Path path;
+    private final int capacity;
+    private final boolean writable;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ScheduledExecutorService syncer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private MappedByteBuffer buffer;
+    private Object fileKey;
+    private int[] index;
+    private int records;
+    private int live;
+    private int stale;
+    private boolean dirty;
+
+    private PositionStore() {
+        this.path = null;
+        this.capacity = 0;
+        this.writable = false;
+        this.lockChannel = null;
+        this.lock = null;
+        this.syncer = null;
+    }
+
+    private PositionStore(Path path, int capacity, FileChannel lockChannel, FileLock lock, long syncIntervalMs)
+            throws IOException {
+        this.path = path;
+        this.capacity = capacity;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.writable = lock != null;
+        this.index = newIndex(capacity);
+
+        if (writable) {
+            openForWriting();
+        } else {
+            openForReading();
+        }
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ai-store-sync").daemon().factory());
+        syncer.scheduleWithFixedDelay(this::sync, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static PositionStore disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Opens the store at {@code path}, creating it if needed, as the writer if
+     * no other process on the host holds the lock, read-only otherwise.
+     */
+    public static PositionStore open(Path path, int sizeMb, long syncIntervalMs, MeterRegistry meterRegistry)
+            throws IOException {
+        int capacity = (int) Math.min((Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES,
+                (long) sizeMb * 1024 * 1024 / RECORD_BYTES - 1);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Position store size must be at least 1 MB");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Another store of this JVM writes the file
+            lock = null;
+        }
+
+        PositionStore store = new PositionStore(path, capacity, lockChannel, lock, syncIntervalMs);
+        store.registerMeters(meterRegistry);
+        return store;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * Returns the stored move for the position, or null.
+     */
+    public synchronized CachedMove lookup(Bitboard board, Difficulty level) {
+        if (buffer == null) {
+            return null;
+        }
+
+        long key = board.key();
+        int slot = find(storeKey(key, level));
+        CachedMove stored = index[slot] != 0 ? decode(index[slot] - 1) : null;
+        long mirrored = Bitboard.mirror(key);
+        if (stored == null && mirrored != key) {
+            slot = find(storeKey(mirrored, level));
+            stored = index[slot] != 0 ? decode(index[slot] - 1).mirror() : null;
+        }
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return stored;
+    }
+
+    /**
+     * Appends the move chosen for the position. Does nothing on a read-only
+     * store.
+     */
+    public synchronized void record(Bitboard board, Difficulty level, CachedMove move) {
+        if (!writable || buffer == null) {
+            return;
+        }
+
+        if (records == capacity) {
+            try {
+                compact();
+            } catch (IOException e) {
+                log.warn("Compacting position store {} failed: {}", path, e.getMessage());
+                return;
+            }
+        }
+
+        int record = records++;
+        write(buffer, record, storeKey(board.key(), level), move);
+        insert(record);
+        dirty = true;
+    }
+
+    public synchronized int size() {
+        return live;
+    }
+
+    @Override
+    public void close() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        syncer.shutdownNow();
+        synchronized (this) {
+            if (writable && buffer != null) {
+                buffer.force();
+            }
+            buffer = null;
+        }
+        try {
+            if (lock != null) {
+                lock.release();
+            }
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Closing position store {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writer: forces the records written since the last sync to disk.
+     * Reader: indexes the records appended since, reopening the file if the
+     * writer replaced it.
+     */
+    private void sync() {
+        try {
+            MappedByteBuffer toForce = null;
+            synchronized (this) {
+                if (writable) {
+                    if (dirty) {
+                        toForce = buffer;
+                        dirty = false;
+                    }
+                } else if (!Objects.equals(fileKey, currentFileKey())) {
+                    openForReading();
+                } else if (buffer != null) {
+                    scan(records);
+                }
+            }
+            if (toForce != null) {
+                toForce.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Syncing position store {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    private void openForWriting() throws IOException {
+        int existing = 0;
+        boolean outdated = false;
+        if (Files.exists(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                channel.read(header, 0);
+                if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION) {
+                    existing = header.getInt(8);
+                } else if (header.getInt(0) == MAGIC) {
+                    outdated = true;
+                } else if (channel.size() > 0) {
+                    throw new IOException("Not a position store: " + path);
+                }
+            }
+        }
+        if (outdated) {
+            // Replaced rather than truncated so readers see a new file and reopen it
+            log.info("Position store {} has an older format, starting a new one", path);
+            Files.delete(path);
+        }
+
+        if (existing == 0) {
+            buffer = create(path, capacity);
+        } else {
+            if (existing > capacity) {
+                index = newIndex(existing);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) existing * RECORD_BYTES);
+            }
+        }
+        fileKey = currentFileKey();
+        rebuildIndex();
+
+        if (existing != 0 && (existing != capacity || stale > records / 4)) {
+            compact();
+        }
+        log.info("Position store {} opened for writing: {} positions, {} stale records", path, live, stale);
+    }
+
+    private void openForReading() throws IOException {
+        buffer = null;
+        Object key = currentFileKey();
+        if (key == null) {
+            fileKey = null;
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Not a position store: " + path);
+            }
+            int slots = (int) Math.min(mapped.getInt(8), (mapped.limit() - HEADER_BYTES) / RECORD_BYTES);
+            if (slots > capacity) {
+                index = newIndex(slots);
+            }
+            buffer = mapped;
+        }
+        fileKey = key;
+        rebuildIndex();
+        log.info("Position store {} opened read-only: {} positions", path, live);
+    }
+
+    /**
+     * Rewrites the live records to a new file, at most three quarters of the
+     * slots and the newest first, and swaps it in.
+     */
+    private void compact() throws IOException {
+        int[] kept = new int[live];
+        int count = 0;
+        for (int slot : index) {
+            if (slot != 0) {
+                kept[count++] = slot - 1;
+            }
+        }
+        Arrays.sort(kept, 0, count);
+        int from = Math.max(0, count - capacity / 4 * 3);
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        MappedByteBuffer target = create(compacted, capacity);
+        for (int i = from; i < count; i++) {
+            target.put(HEADER_BYTES + (i - from) * RECORD_BYTES,
+                    buffer.slice(HEADER_BYTES + kept[i] * RECORD_BYTES, RECORD_BYTES), 0, RECORD_BYTES);
+        }
+        target.force();
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        int before = records;
+        buffer = target;
+        fileKey = currentFileKey();
+        dirty = false;
+        rebuildIndex();
+        log.info("Position store {} compacted from {} to {} records", path, before, records);
+    }
+
+    private void rebuildIndex() {
+        Arrays.fill(index, 0);
+        records = 0;
+        live = 0;
+        stale = 0;
+        scan(0);
+    }
+
+    /**
+     * Indexes the records from {@code from} up to the first empty slot. A bad
+     * record right before it is left for the next scan: the writer may still
+     * be writing it, or will write over it if it was torn by a crash.
+     */
+    private void scan(int from) {
+        int slots = (buffer.limit() - HEADER_BYTES) / RECORD_BYTES;
+        int record = from;
+        while (record < slots) {
+            int offset = HEADER_BYTES + record * RECORD_BYTES;
+            if (isEmpty(record)) {
+                break;
+            }
+            if (buffer.getInt(offset + 12) == checksum(buffer, offset)) {
+                insert(record);
+            } else if (record + 1 == slots || isEmpty(record + 1)) {
+                break;
+            } else {
+                stale++;
+            }
+            record++;
+        }
+        records = record;
+    }
+
+    private boolean isEmpty(int record) {
+        int offset = HEADER_BYTES + record * RECORD_BYTES;
+        return buffer.getLong(offset) == 0 && buffer.getLong(offset + 8) == 0;
+    }
+
+    private void insert(int record) {
+        long key = buffer.getLong(HEADER_BYTES + record * RECORD_BYTES);
+        int slot = find(key);
+        if (index[slot] != 0) {
+            stale++;
+        } else {
+            live++;
+        }
+        index[slot] = record + 1;
+    }
+
+    /**
+     * Index slot holding {@code key}, or the empty slot where it would go.
+     */
+    private int find(long key) {
+        int mask = index.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+        while (index[slot] != 0 && buffer.getLong(HEADER_BYTES + (index[slot] - 1) * RECORD_BYTES) != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private CachedMove decode(int record) {
+        int offset = HEADER_BYTES + record * RECORD_BYTES;
+        int outcome = buffer.get(offset + 9);
+        GameValue value = outcome == 0
+                ? null
+                : new GameValue(GameValue.Outcome.values()[outcome - 1], buffer.get(offset + 10));
+        return new CachedMove(buffer.get(offset + 8), value, buffer.get(offset + 11) != 0);
+    }
+
+    private Object currentFileKey() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.lastModifiedTime();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            return fileKey;
+        }
+    }
+
+    private void registerMeters(MeterRegistry meterRegistry) {
+        Gauge.builder("ai.store.size", this, PositionStore::size)
+                .description("Positions in the persistent store")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.store.lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Persistent store lookups by result")
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.store.lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Persistent store lookups by result")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open-addressing index at most half full with {@code slots} records.
+     */
+    private static int[] newIndex(int slots) {
+        return new int[Integer.highestOneBit(Math.max(1, slots) * 2 - 1) * 2];
+    }
+
+    private static MappedByteBuffer create(Path file, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) capacity * RECORD_BYTES);
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(8, capacity);
+            return mapped;
+        }
+    }
+
+    private static void write(ByteBuffer target, int record, long key, CachedMove move) {
+        int offset = HEADER_BYTES + record * RECORD_BYTES;
+        GameValue value = move.gameValue();
+        target.putLong(offset, key);
+        target.put(offset + 8, (byte) move.column());
+        target.put(offset + 9, (byte) (value == null ? 0 : value.outcome().ordinal() + 1));
+        target.put(offset + 10, (byte) (value == null ? 0 : value.plies()));
+        target.put(offset + 11, (byte) (move.unique() ? 1 : 0));
+        target.putInt(offset + 12, checksum(target, offset));
+    }
+
+    private static int checksum(ByteBuffer source, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(source.slice(offset, 12));
+        return (int) crc.getValue();
+    }
+
+    private static long storeKey(long positionKey, Difficulty level) {
+        return positionKey << 3 | level.getLevel();
+    }
+}
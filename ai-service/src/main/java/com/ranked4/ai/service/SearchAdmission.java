@@ -0,0 +1,225 @@
+package com.ranked4.ai.service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ranked4.ai.dto.AiAnalysisRequest;
+import com.ranked4.ai.dto.AiAnalysisResponse;
+import com.ranked4.ai.dto.AiMoveRequest;
+import com.ranked4.ai.dto.AiMoveResponse;
+import com.ranked4.engine.Difficulty;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admission control in front of {@link Connect4AiService}: every move and
+ * analysis request runs on the bounded search executor instead of the caller's
+ * thread, so a burst of searches cannot take every core from the rest of
+ * the service.
+ * <p>
+ * Each difficulty also has a quota of requests queued or running at once.
+ * When Hard or Very Hard is over its quota the request is played one level
+ * lower if that level has room and {@code ai.admission.degrade} is on; never
+ * down to Easy, whose moves are mostly random. A request that cannot be
+ * admitted, or that the executor queue cannot hold, fails at once with a
+ * {@link RejectedExecutionException}, answered as 503 Service Unavailable.
+ * <p>
+ * Background searches such as pondering take a permit of the same quotas
+ * but never wait for one, so they only run while their level has room.
+ */
+@Service
+public class SearchAdmission {
+
+    private final Connect4AiService aiService;
+    private final ExecutorService searchExecutor;
+    private final boolean degrade;
+    private final Map<Difficulty, Semaphore> quotas = new EnumMap<>(Difficulty.class);
+    private final MeterRegistry meterRegistry;
+
+    public SearchAdmission(Connect4AiService aiService,
+            @Qualifier("searchExecutor") ExecutorService searchExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${ai.admission.degrade:true}") boolean degrade,
+            @Value("${ai.admission.quota.easy:32}") int easyQuota,
+            @Value("${ai.admission.quota.medium:16}") int mediumQuota,
+            @Value("${ai.admission.quota.hard:8}") int hardQuota,
+            @Value("${ai.admission.quota.very-hard:4}") int veryHardQuota) {
+        this.aiService = aiService;
+        this.searchExecutor = searchExecutor;
+        this.meterRegistry = meterRegistry;
+        this.degrade = degrade;
+
+        quotas.put(Difficulty.EASY, new Semaphore(easyQuota));
+        quotas.put(Difficulty.MEDIUM, new Semaphore(mediumQuota));
+        quotas.put(Difficulty.HARD, new Semaphore(hardQuota));
+        quotas.put(Difficulty.VERY_HARD, new Semaphore(veryHardQuota));
+
+        Map<Difficulty, Integer> limits = Map.of(Difficulty.EASY, easyQuota, Difficulty.MEDIUM, mediumQuota,
+                Difficulty.HARD, hardQuota, Difficulty.VERY_HARD, veryHardQuota);
+        quotas.forEach((level, quota) -> Gauge
+                .builder("ai.admission.in.flight", quota, q -> limits.get(level) - q.availablePermits())
+                .description("Requests queued or running")
+                .tag("difficulty", tag(level))
+                .register(meterRegistry));
+    }
+
+    public AiMoveResponse nextMove(AiMoveRequest request) {
+        return run(request.difficulty(), level -> aiService.nextMove(level.getLevel() == request.difficulty()
+                ? request
+                : new AiMoveRequest(request.grid(), level.getLevel(), request.aiPlayerId(), request.timeBudgetMs(),
+                        request.includeStats(), request.gameId())));
+    }
+
+    public AiAnalysisResponse analyze(AiAnalysisRequest request) {
+        return run(request.difficulty(), level -> aiService.analyze(level.getLevel() == request.difficulty()
+                ? request
+                : new AiAnalysisRequest(request.grid(), level.getLevel(), request.playerToMove(),
+                        request.timeBudgetMs())));
+    }
+
+    /**
+     * Runs a background search on the calling thread if {@code level} has
+     * room in its quota, never degraded, and returns null without searching
+     * otherwise.
+     */
+    public <T> T runIfIdle(Difficulty level, Supplier<T> search) {
+        Semaphore quota = quotas.get(level);
+        if (!quota.tryAcquire()) {
+            return null;
+        }
+        try {
+            return search.get();
+        } finally {
+            quota.release();
+        }
+    }
+
+    /**
+     * Runs {@code search} on the search executor at the admitted level, the
+     * requested one or the level below.
+     */
+    private <T> T run(int difficulty, Function<Difficulty, T> search) {
+        Difficulty requested = Difficulty.fromLevel(difficulty);
+        Difficulty admitted = admit(requested);
+        if (admitted == null) {
+            throw rejected(requested, "quota");
+        }
+        if (admitted != requested) {
+            counter("ai.admission.degraded", "Requests played one level lower", requested).increment();
+        }
+
+        AdmittedSearch<T> task = new AdmittedSearch<>(() -> search.apply(admitted), quotas.get(admitted));
+        try {
+            searchExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.release();
+            throw rejected(requested, "queue");
+        }
+
+        return await(task);
+    }
+
+    private Difficulty admit(Difficulty level) {
+        if (quotas.get(level).tryAcquire()) {
+            return level;
+        }
+        if (!degrade || level.getLevel() <= Difficulty.MEDIUM.getLevel()) {
+            return null;
+        }
+        Difficulty lower = Difficulty.fromLevel(level.getLevel() - 1);
+        return quotas.get(lower).tryAcquire() ? lower : null;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the AI move", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private RejectedExecutionException rejected(Difficulty level, String reason) {
+        Counter.builder("ai.admission.rejected")
+                .description("Requests turned away as busy")
+                .tag("difficulty", tag(level))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new RejectedExecutionException("AI service busy");
+    }
+
+    private Counter counter(String name, String description, Difficulty level) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("difficulty", tag(level))
+                .register(meterRegistry);
+    }
+
+    private static String tag(Difficulty level) {
+        return level.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A search holding a permit of its level's quota. The permit is given
+     * back when the search finishes, or at once when the task is cancelled
+     * before it started, since it will then never run; a search cancelled
+     * while running keeps it until it returns.
+     */
+    private static final class AdmittedSearch<T> extends FutureTask<T> {
+        private final Semaphore quota;
+        private final AtomicBoolean held = new AtomicBoolean(true);
+        private volatile boolean started;
+
+        AdmittedSearch(Callable<T> search, Semaphore quota) {
+            super(search);
+            this.quota = quota;
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            try {
+                super.run();
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (!started) {
+                release();
+            }
+        }
+
+        void release() {
+            if (held.compareAndSet(true, false)) {
+                quota.release();
+            }
+        }
+    }
+}
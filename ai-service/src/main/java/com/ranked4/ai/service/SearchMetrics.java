@@ -0,0 +1,78 @@
+package com.ranked4.ai.service;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.SearchStatistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records every AI move in Micrometer, tagged by difficulty: the time to
+ * choose it (also tagged by {@link MoveSource}) and, for moves that were
+ * searched or solved on the spot, nodes, depth, table probes by result,
+ * table hit rate and beta-cutoff rate. Probes are the ones the move's own
+ * search made. MCTS moves count their playouts as nodes and record no
+ * table or cutoff figures.
+ */
+@Component
+public class SearchMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(Difficulty difficulty, MoveSource source, SearchStatistics statistics, long elapsedNanos) {
+        String level = difficulty.name().toLowerCase(Locale.ROOT);
+
+        Timer.builder("ai.move.duration")
+                .description("Time to choose an AI move")
+                .tag("difficulty", level)
+                .tag("source", source.name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (source == MoveSource.RANDOM || source == MoveSource.TACTICS || source == MoveSource.BOOK
+                || source == MoveSource.PONDER || source == MoveSource.CACHE || source == MoveSource.STORE) {
+            return;
+        }
+
+        summary("ai.search.nodes", "Nodes visited per move", "nodes", level).record(statistics.nodes());
+        summary("ai.search.depth", "Depth reached per move", "plies", level).record(statistics.depth());
+        if (source == MoveSource.MCTS) {
+            return;
+        }
+        probes("hit", level).increment(statistics.tableHits());
+        probes("miss", level).increment(statistics.tableProbes() - statistics.tableHits());
+        summary("ai.search.tt.hit.ratio", "Share of table probes that found an entry", null, level)
+                .record(statistics.tableHitRate());
+        summary("ai.search.cutoff.ratio", "Share of expanded nodes ending in a beta cutoff", null, level)
+                .record(statistics.cutoffRate());
+    }
+
+    private Counter probes(String result, String level) {
+        return Counter.builder("ai.search.tt.probes")
+                .description("Transposition table probes by result")
+                .tag("difficulty", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String description, String baseUnit, String level) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tag("difficulty", level)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ranked4.ai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.Tactics;
+import com.ranked4.engine.TranspositionTable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A move served from the cache for the mirror image of a searched position
+ * must be the move a search of that position picks, ties going to the
+ * leftmost column. Checked through the production path, with the shared
+ * transposition table and the difficulty's time budget, on one thread so
+ * the searches are reproducible; each table is cleared before a search so
+ * both strategies search from the same state.
+ */
+class MinimaxStrategyTest {
+
+    private static final int POSITIONS = 300;
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+    @AfterAll
+    static void shutDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void servesMirroredMovesOnlyWhenASearchWouldPickThem() {
+        for (Difficulty level : new Difficulty[] {Difficulty.MEDIUM, Difficulty.HARD}) {
+            TranspositionTable cachedTable = new TranspositionTable(4);
+            TranspositionTable plainTable = new TranspositionTable(4);
+            MinimaxStrategy cached = strategy(cachedTable, 1);
+            MinimaxStrategy plain = strategy(plainTable, 0);
+            SplittableRandom random = new SplittableRandom(level.getLevel());
+            int mirroredHits = 0;
+            int searchedAgain = 0;
+
+            for (int i = 0; i < POSITIONS; i++) {
+                int[] moves = randomGame(random);
+                Bitboard board = play(moves, false);
+                Bitboard mirrored = play(moves, true);
+                if (board.key() == mirrored.key() || Tactics.forcedMove(board) != Tactics.NO_MOVE) {
+                    continue;
+                }
+
+                cachedTable.clear();
+                cached.choose(board.copy(), level, null, null, 1, null);
+                cachedTable.clear();
+                MoveDecision served = cached.choose(mirrored.copy(), level, null, null, 1, null);
+                plainTable.clear();
+                MoveDecision searched = plain.choose(mirrored.copy(), level, null, null, 1, null);
+
+                String game = Arrays.toString(moves);
+                assertEquals(searched.column(), served.column(), () -> level + " after " + game);
+                if (served.source() == MoveSource.CACHE) {
+                    mirroredHits++;
+                } else {
+                    searchedAgain++;
+                }
+            }
+
+            String counts = level + ": " + mirroredHits + " mirrored hits, " + searchedAgain + " searched again";
+            assertTrue(mirroredHits > 20, counts);
+            assertTrue(searchedAgain > 0, counts);
+        }
+    }
+
+    private static MinimaxStrategy strategy(TranspositionTable table, int cacheSizeMb) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PositionCache<CachedMove> cache = new PositionCache<>("move", cacheSizeMb, CachedMove.ENTRY_BYTES,
+                CachedMove::mirror, registry);
+        return new MinimaxStrategy(table, POOL, OpeningBook.empty(), new SolverTable(16), cache,
+                PositionStore.disabled(), 3, 3, 3, true, 1000, 3);
+    }
+
+    /**
+     * Columns of a random game of 4 to 20 moves that nobody has won yet.
+     */
+    private static int[] randomGame(SplittableRandom random) {
+        int length = random.nextInt(4, 21);
+        int[] moves = new int[length];
+        Bitboard board = new Bitboard();
+        for (int i = 0; i < length; i++) {
+            int col;
+            do {
+                col = random.nextInt(Bitboard.WIDTH);
+            } while (!board.canPlay(col));
+            if (board.isWinningMove(col)) {
+                return Arrays.copyOf(moves, i);
+            }
+            board.play(col);
+            moves[i] = col;
+        }
+        return moves;
+    }
+
+    private static Bitboard play(int[] moves, boolean mirrored) {
+        Bitboard board = new Bitboard();
+        for (int col : moves) {
+            board.play(mirrored ? Bitboard.WIDTH - 1 - col : col);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ranked4.ai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A miss on the mirror image of a position being searched waits for that
+ * search and takes its move mirrored when the move was unique, and searches
+ * on its own when it was tied.
+ */
+class PositionCacheTest {
+
+    private static final Bitboard SEARCHED = position(1);
+    private static final Bitboard MIRRORED = position(5);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final PositionCache<CachedMove> cache = new PositionCache<>("move", 1, CachedMove.ENTRY_BYTES,
+            CachedMove::mirror, new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mirroredMissJoinsTheRunningSearch() throws Exception {
+        AtomicInteger searches = new AtomicInteger();
+        CompletableFuture<CachedMove> first = searchBlocked(new CachedMove(2, null, true), searches);
+
+        CachedMove joined = cache.getOrSearch(MIRRORED, Difficulty.HARD, () -> {
+            searches.incrementAndGet();
+            return new CachedMove(0, null, true);
+        });
+
+        assertEquals(new CachedMove(4, null, true), joined);
+        assertEquals(new CachedMove(2, null, true), first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void mirroredMissSearchesWhenTheMoveWasTied() throws Exception {
+        AtomicInteger searches = new AtomicInteger();
+        CompletableFuture<CachedMove> first = searchBlocked(new CachedMove(2, null, false), searches);
+
+        CachedMove own = cache.getOrSearch(MIRRORED, Difficulty.HARD, () -> {
+            searches.incrementAndGet();
+            return new CachedMove(3, null, false);
+        });
+
+        assertEquals(new CachedMove(3, null, false), own);
+        assertEquals(new CachedMove(2, null, false), first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, searches.get());
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Starts a search of {@link #SEARCHED} that returns {@code move} a moment
+     * after the calling thread has had time to miss on the mirror image.
+     */
+    private CompletableFuture<CachedMove> searchBlocked(CachedMove move, AtomicInteger searches)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<CachedMove> result = CompletableFuture.supplyAsync(
+                () -> cache.getOrSearch(SEARCHED, Difficulty.HARD, () -> {
+                    searches.incrementAndGet();
+                    started.countDown();
+                    sleep(200);
+                    return move;
+                }), executor);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Bitboard position(int... moves) {
+        Bitboard board = new Bitboard();
+        for (int col : moves) {
+            board.play(col);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ranked4.ai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.GameValue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Records surviving a reopen, torn records skipped or written over,
+ * compaction of a full file, and a reader following the writer across the
+ * file swap that compaction makes.
+ */
+class PositionStoreTest {
+
+    private static final long SYNC_MS = 20;
+    private static final long WAIT_MS = 5_000;
+    private static final Bitboard FIRST = position(3);
+    private static final Bitboard SECOND = position(3, 3);
+    private static final Bitboard THIRD = position(3, 3, 2);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsSurviveReopening() throws IOException {
+        Path path = dir.resolve("positions.bin");
+        try (PositionStore store = open(path)) {
+            assertTrue(store.isWritable());
+            store.record(FIRST, Difficulty.HARD, new CachedMove(2, null, true));
+            store.record(SECOND, Difficulty.HARD, new CachedMove(3, new GameValue(GameValue.Outcome.WIN, 7), false));
+            store.record(FIRST, Difficulty.HARD, new CachedMove(4, null, true));
+        }
+
+        try (PositionStore store = open(path)) {
+            assertEquals(2, store.size());
+            assertEquals(new CachedMove(4, null, true), store.lookup(FIRST, Difficulty.HARD));
+            assertEquals(new CachedMove(3, new GameValue(GameValue.Outcome.WIN, 7), false),
+                    store.lookup(SECOND, Difficulty.HARD));
+            assertNull(store.lookup(FIRST, Difficulty.VERY_HARD));
+        }
+    }
+
+    @Test
+    void answersTheMirrorImageOnlyForUniqueMoves() throws IOException {
+        Bitboard unique = position(1);
+        Bitboard tied = position(2, 2);
+        try (PositionStore store = open(dir.resolve("positions.bin"))) {
+            store.record(unique, Difficulty.HARD, new CachedMove(1, null, true));
+            store.record(tied, Difficulty.HARD, new CachedMove(2, null, false));
+
+            assertEquals(new CachedMove(5, null, true), store.lookup(position(5), Difficulty.HARD));
+            assertNull(store.lookup(position(4, 4), Difficulty.HARD));
+            assertEquals(new CachedMove(2, null, false), store.lookup(tied, Difficulty.HARD));
+        }
+    }
+
+    @Test
+    void skipsATornRecordAndWritesOverATornLastOne() throws IOException {
+        Path path = dir.resolve("positions.bin");
+        try (PositionStore store = open(path)) {
+            store.record(FIRST, Difficulty.HARD, new CachedMove(1, null, false));
+            store.record(SECOND, Difficulty.HARD, new CachedMove(2, null, false));
+            store.record(THIRD, Difficulty.HARD, new CachedMove(3, null, false));
+        }
+        tear(path, 1);
+
+        try (PositionStore store = open(path)) {
+            assertEquals(new CachedMove(1, null, false), store.lookup(FIRST, Difficulty.HARD));
+            assertNull(store.lookup(SECOND, Difficulty.HARD));
+            assertEquals(new CachedMove(3, null, false), store.lookup(THIRD, Difficulty.HARD));
+        }
+
+        // Reopening compacted the two live records to the front: tear the last one
+        tear(path, 1);
+        try (PositionStore store = open(path)) {
+            assertEquals(1, store.size());
+            store.record(SECOND, Difficulty.HARD, new CachedMove(5, null, false));
+        }
+        try (PositionStore store = open(path)) {
+            assertEquals(2, store.size());
+            assertEquals(new CachedMove(5, null, false), store.lookup(SECOND, Difficulty.HARD));
+            assertNull(store.lookup(THIRD, Difficulty.HARD));
+        }
+    }
+
+    @Test
+    void compactsAFullFileToItsLiveRecords() throws IOException {
+        Path path = dir.resolve("positions.bin");
+        try (PositionStore store = open(path)) {
+            store.record(FIRST, Difficulty.HARD, new CachedMove(1, null, false));
+            int capacity = capacity(path);
+            for (int i = 1; i <= capacity; i++) {
+                store.record(SECOND, Difficulty.HARD, new CachedMove(i % Bitboard.WIDTH, null, false));
+            }
+
+            assertEquals(2, store.size());
+            assertEquals(new CachedMove(1, null, false), store.lookup(FIRST, Difficulty.HARD));
+            assertEquals(new CachedMove(capacity % Bitboard.WIDTH, null, false),
+                    store.lookup(SECOND, Difficulty.HARD));
+        }
+        try (PositionStore store = open(path)) {
+            assertEquals(2, store.size());
+            assertEquals(new CachedMove(1, null, false), store.lookup(FIRST, Difficulty.HARD));
+        }
+    }
+
+    @Test
+    void readerReopensTheFileTheWriterSwappedIn() throws Exception {
+        Path path = dir.resolve("positions.bin");
+        try (PositionStore writer = open(path); PositionStore reader = open(path)) {
+            assertTrue(writer.isWritable());
+            assertFalse(reader.isWritable());
+
+            writer.record(FIRST, Difficulty.HARD, new CachedMove(1, null, false));
+            awaitTrue(() -> reader.lookup(FIRST, Difficulty.HARD) != null);
+
+            Object before = fileKey(path);
+            int capacity = capacity(path);
+            for (int i = 0; i < capacity; i++) {
+                writer.record(SECOND, Difficulty.HARD, new CachedMove(2, null, false));
+            }
+            writer.record(THIRD, Difficulty.HARD, new CachedMove(3, null, false));
+            assertNotEquals(before, fileKey(path));
+
+            awaitTrue(() -> reader.lookup(THIRD, Difficulty.HARD) != null);
+            assertEquals(new CachedMove(1, null, false), reader.lookup(FIRST, Difficulty.HARD));
+            assertEquals(new CachedMove(2, null, false), reader.lookup(SECOND, Difficulty.HARD));
+            assertEquals(3, reader.size());
+        }
+    }
+
+    private static PositionStore open(Path path) throws IOException {
+        return PositionStore.open(path, 1, SYNC_MS, new SimpleMeterRegistry());
+    }
+
+    private static int capacity(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(PositionStore.HEADER_BYTES);
+            channel.read(header, 0);
+            return header.getInt(8);
+        }
+    }
+
+    /**
+     * Flips the move byte of a record, as a write cut short by a crash would
+     * leave its checksum unmatched.
+     */
+    private static void tear(Path path, int record) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long offset = PositionStore.HEADER_BYTES + (long) record * PositionStore.RECORD_BYTES + 8;
+            ByteBuffer move = ByteBuffer.allocate(1);
+            channel.read(move, offset);
+            move.put(0, (byte) (move.get(0) ^ 0x7F));
+            move.rewind();
+            channel.write(move, offset);
+        }
+    }
+
+    private static Object fileKey(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + WAIT_MS * 1_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() - deadline < 0, "condition not met in " + WAIT_MS + " ms");
+            Thread.sleep(SYNC_MS);
+        }
+    }
+
+    private static Bitboard position(int... moves) {
+        Bitboard board = new Bitboard();
+        for (int col : moves) {
+            board.play(col);
+        }
+        return board;
+    }
+}
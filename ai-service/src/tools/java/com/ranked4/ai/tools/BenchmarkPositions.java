@@ -0,0 +1,48 @@
+package com.ranked4.ai.tools;
+
+import java.util.List;
+
+import com.ranked4.engine.Bitboard;
+
+/**
+ * Fixed corpus of midgame positions (10 to 20 plies, no immediate win for
+ * either side) shared by the offline benchmarks.
+ */
+public final class BenchmarkPositions {
+
+    public record BenchmarkPosition(String grid, int playerToMove) {
+
+        public Bitboard toBitboard() {
+            return Bitboard.fromGrid(grid, playerToMove);
+        }
+    }
+
+    public static final List<BenchmarkPosition> MIDGAME = List.of(
+            new BenchmarkPosition("000000000000000000000002110000122002211200", 1),
+            new BenchmarkPosition("002000000200000011000002200000110000022111", 2),
+            new BenchmarkPosition("000010000002000000100002010000102200122112", 1),
+            new BenchmarkPosition("000000000000000000000001000000221200021121", 2),
+            new BenchmarkPosition("002000000100000010200001020000201010022121", 1),
+            new BenchmarkPosition("000000000000000000100002010000122001021200", 2),
+            new BenchmarkPosition("000000000200000012100001120010222101021120", 2),
+            new BenchmarkPosition("000000000020000002000001120000211001012200", 2),
+            new BenchmarkPosition("000000000010000012200002110010212102012210", 2),
+            new BenchmarkPosition("000000000000000000200000020000101001122120", 1),
+            new BenchmarkPosition("000000000001000000100002120000112200212120", 2),
+            new BenchmarkPosition("002110000222000011100001220000221010011202", 2),
+            new BenchmarkPosition("000100000220000011100001220000212000011220", 2),
+            new BenchmarkPosition("000220000011000002200000110000212101212221", 1),
+            new BenchmarkPosition("000000000000000020200001120000121020012101", 2),
+            new BenchmarkPosition("000100000020000001100002120000122001212100", 2),
+            new BenchmarkPosition("000000000000000020100002010001102000221120", 1),
+            new BenchmarkPosition("001000000100000020000001000010200002021200", 2),
+            new BenchmarkPosition("000100000012000022100001220000211001021200", 2),
+            new BenchmarkPosition("000020000002000020200001010001112000211200", 2),
+            new BenchmarkPosition("000000000000000001000002110000122000221100", 2),
+            new BenchmarkPosition("000000000000000000000000010010002002211122", 2),
+            new BenchmarkPosition("000000000200000021000001110000122000012122", 1),
+            new BenchmarkPosition("002020000111000021100001220000211002012212", 2));
+
+    private BenchmarkPositions() {
+    }
+}
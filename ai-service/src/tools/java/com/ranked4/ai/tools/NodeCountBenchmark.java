@@ -0,0 +1,69 @@
+package com.ranked4.ai.tools;
+
+import com.ranked4.ai.tools.BenchmarkPositions.BenchmarkPosition;
+import com.ranked4.engine.AlphaBetaSearch;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.TranspositionTable;
+
+/**
+ * Counts nodes searched per difficulty on {@link BenchmarkPositions#MIDGAME}.
+ * <ul>
+ * <li>original: single fixed-depth pass, columns left to right, no
+ * transposition table (the tree the String-based engine walked)</li>
+ * <li>unordered: iterative deepening with the transposition table, columns
+ * left to right</li>
+ * <li>ordered: iterative deepening with the transposition table and move
+ * ordering</li>
+ * </ul>
+ * Searches run to the full depth cap with no time budget, and the table is
+ * cleared between positions.
+ * <p>
+ * Run with {@code mvn -Ptools compile exec:java -Dexec.mainClass=com.ranked4.ai.tools.NodeCountBenchmark}.
+ */
+public final class NodeCountBenchmark {
+
+    public static void main(String[] args) {
+        TranspositionTable table = new TranspositionTable(16);
+
+        System.out.printf("%-10s %5s %14s %14s %14s %10s %9s%n",
+                "difficulty", "depth", "original", "unordered", "ordered", "reduction", "changed");
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            SearchLimits limits = SearchLimits.fixedDepth(difficulty.getMaxDepth());
+            long originalNodes = 0;
+            long unorderedNodes = 0;
+            long orderedNodes = 0;
+            int changedMoves = 0;
+
+            for (BenchmarkPosition position : BenchmarkPositions.MIDGAME) {
+                AlphaBetaSearch original = new AlphaBetaSearch(position.toBitboard(), null);
+                original.setMoveOrdering(false);
+                int originalMove = original.bestMove(limits);
+                originalNodes += original.lastIterationNodes();
+
+                table.clear();
+                AlphaBetaSearch unordered = new AlphaBetaSearch(position.toBitboard(), table);
+                unordered.setMoveOrdering(false);
+                unordered.bestMove(limits);
+                unorderedNodes += unordered.nodes();
+
+                table.clear();
+                AlphaBetaSearch ordered = new AlphaBetaSearch(position.toBitboard(), table);
+                int orderedMove = ordered.bestMove(limits);
+                orderedNodes += ordered.nodes();
+
+                if (orderedMove != originalMove) {
+                    changedMoves++;
+                }
+            }
+
+            System.out.printf("%-10s %5d %14d %14d %14d %9.1f%% %9d%n",
+                    difficulty, difficulty.getMaxDepth(), originalNodes, unorderedNodes, orderedNodes,
+                    100.0 * (originalNodes - orderedNodes) / originalNodes, changedMoves);
+        }
+    }
+
+    private NodeCountBenchmark() {
+    }
+}
@@ -0,0 +1,146 @@
+package com.ranked4.ai.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ranked4.engine.AlphaBetaSearch;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.Solver;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.TranspositionTable;
+
+/**
+ * Offline builder for the {@link OpeningBook}: enumerates every position
+ * reachable in at most {@code --plies} moves, searches each one to
+ * {@code --depth} and writes the best moves sorted by position key.
+ * With {@code --solve} every position is solved exactly instead, which the
+ * Very Hard level needs to play perfectly from the first move; solving the
+ * shortest openings can take hours.
+ * <p>
+ * Run with {@code mvn -Ptools compile exec:java -Dexec.mainClass=com.ranked4.ai.tools.OpeningBookBuilder
+ * -Dexec.args="<output> [--plies 6] [--depth 12] [--threads N] [--solve]"}.
+ */
+public final class OpeningBookBuilder {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: OpeningBookBuilder <output> [--plies N] [--depth D] [--threads T] [--solve]");
+            System.exit(1);
+        }
+
+        Path output = Path.of(args[0]);
+        int plies = 6;
+        int depth = 12;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean solve = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--plies" -> plies = Integer.parseInt(args[++i]);
+                case "--depth" -> depth = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--solve" -> solve = true;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (solve) {
+            depth = OpeningBook.SOLVED_DEPTH;
+        }
+
+        Map<Long, Bitboard> positions = new HashMap<>();
+        collect(new Bitboard(), plies, positions);
+        System.out.printf("%d positions up to %d plies, %s on %d threads%n",
+                positions.size(), plies, solve ? "solving" : "searching to depth " + depth, threads);
+
+        List<Entry> entries = search(new ArrayList<>(positions.values()), depth, threads);
+        entries.sort(Comparator.comparingLong(Entry::key));
+        write(output, plies, depth, entries);
+
+        System.out.printf("Wrote %d entries to %s%n", entries.size(), output);
+    }
+
+    private static void collect(Bitboard board, int plies, Map<Long, Bitboard> positions) {
+        if (positions.putIfAbsent(board.key(), board.copy()) != null || board.moveCount() == plies) {
+            return;
+        }
+
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (!board.canPlay(col) || board.isWinningMove(col)) {
+                continue;
+            }
+            board.play(col);
+            collect(board, plies, positions);
+            board.undo(col);
+        }
+    }
+
+    private static List<Entry> search(List<Bitboard> positions, int depth, int threads) throws Exception {
+        TranspositionTable table = new TranspositionTable(256);
+        SolverTable solverTable = depth == OpeningBook.SOLVED_DEPTH ? new SolverTable(25) : null;
+        AtomicInteger done = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            return new ArrayList<>(pool.submit(() -> positions.parallelStream()
+                    .map(board -> {
+                        Entry entry = solverTable != null
+                                ? solve(board, solverTable)
+                                : new Entry(board.key(),
+                                        new AlphaBetaSearch(board, table).bestMove(SearchLimits.fixedDepth(depth)), 0);
+                        int count = done.incrementAndGet();
+                        if (count % 1000 == 0) {
+                            System.out.printf("%d/%d%n", count, positions.size());
+                        }
+                        return entry;
+                    })
+                    .toList()).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Entry solve(Bitboard board, SolverTable solverTable) {
+        Solver.SolvedMove solved = new Solver(solverTable).bestMove(board, SearchLimits.fixedDepth(0));
+        return new Entry(board.key(), solved.column(), solved.score());
+    }
+
+    private static void write(Path output, int plies, int depth, List<Entry> entries) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + entries.size() * OpeningBook.RECORD_BYTES);
+        buffer.putInt(OpeningBook.MAGIC);
+        buffer.putInt(OpeningBook.VERSION);
+        buffer.putInt(plies);
+        buffer.putInt(depth);
+        buffer.putLong(entries.size());
+        for (Entry entry : entries) {
+            buffer.putLong(entry.key());
+            buffer.put((byte) entry.move());
+            buffer.put((byte) depth);
+            buffer.putShort((short) entry.score());
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private record Entry(long key, int move, int score) {
+    }
+
+    private OpeningBookBuilder() {
+    }
+}
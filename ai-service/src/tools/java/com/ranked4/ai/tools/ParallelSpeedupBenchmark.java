@@ -0,0 +1,86 @@
+package com.ranked4.ai.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ranked4.ai.tools.BenchmarkPositions.BenchmarkPosition;
+import com.ranked4.engine.ParallelSearch;
+import com.ranked4.engine.SearchLimits;
+import com.ranked4.engine.TranspositionTable;
+
+/**
+ * Wall-clock speedup of the parallel root search against thread count on
+ * {@link BenchmarkPositions#MIDGAME}, searched to a fixed depth (default 10)
+ * with the transposition table cleared between positions. Also reports how
+ * many chosen moves differ from the single-threaded run.
+ * <p>
+ * Run with {@code mvn -Ptools compile exec:java -Dexec.mainClass=com.ranked4.ai.tools.ParallelSpeedupBenchmark
+ * -Dexec.args="[depth] [maxThreads]"}, {@code maxThreads} defaulting to the number of available cores.
+ */
+public final class ParallelSpeedupBenchmark {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(maxThreads);
+        TranspositionTable table = new TranspositionTable(64);
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        run(pool, table, depth, 1);
+
+        System.out.printf("depth %d, %d positions, %d cores available%n", depth, BenchmarkPositions.MIDGAME.size(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%7s %10s %8s %14s %8s%n", "threads", "wall ms", "speedup", "nodes", "changed");
+
+        int[] reference = null;
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            long start = System.nanoTime();
+            Run run = run(pool, table, depth, threads);
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            if (reference == null) {
+                reference = run.moves;
+                baseline = millis;
+            }
+
+            int changed = 0;
+            for (int i = 0; i < reference.length; i++) {
+                if (reference[i] != run.moves[i]) {
+                    changed++;
+                }
+            }
+
+            System.out.printf("%7d %10.1f %7.2fx %14d %8d%n", threads, millis, baseline / millis, run.nodes, changed);
+        }
+
+        pool.shutdown();
+    }
+
+    private static Run run(ForkJoinPool pool, TranspositionTable table, int depth, int threads) {
+        List<BenchmarkPosition> positions = BenchmarkPositions.MIDGAME;
+        int[] moves = new int[positions.size()];
+        long nodes = 0;
+
+        for (int i = 0; i < positions.size(); i++) {
+            table.clear();
+            ParallelSearch search = new ParallelSearch(positions.get(i).toBitboard(), table, pool, threads);
+            moves[i] = search.bestMove(SearchLimits.fixedDepth(depth));
+            nodes += search.nodes();
+        }
+
+        return new Run(moves, nodes);
+    }
+
+    private record Run(int[] moves, long nodes) {
+    }
+
+    private ParallelSpeedupBenchmark() {
+    }
+}
@@ -0,0 +1,331 @@
+package com.ranked4.ai.tools;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ranked4.ai.service.CachedMove;
+import com.ranked4.ai.service.MctsStrategy;
+import com.ranked4.ai.service.MinimaxStrategy;
+import com.ranked4.ai.service.MoveDecision;
+import com.ranked4.ai.service.MoveStrategy;
+import com.ranked4.ai.service.PositionCache;
+import com.ranked4.ai.service.PositionStore;
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.OpeningBook;
+import com.ranked4.engine.SolverTable;
+import com.ranked4.engine.TranspositionTable;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Offline engine-vs-engine tournament: every pair of players meets in
+ * {@code --games} games, played in parallel on {@code --threads} threads
+ * with one search thread per move. Games start from random openings of
+ * {@code --opening-plies} moves drawn from {@code --seed}, each played once
+ * with either side moving first.
+ * <p>
+ * A player is {@code engine:level[:budgetMs[:playouts]]}, with engine
+ * {@code minimax} or {@code mcts}, a difficulty from 1 to 4, an optional
+ * time budget shorter than the level's and, for MCTS, a playout count.
+ * Players run the production strategies as configured in application.yml,
+ * each with its own tables and without the move cache; {@code --book} gives
+ * the minimax players an opening book.
+ * <p>
+ * For each pairing it prints wins, draws and losses, the first player's
+ * score with a 95% confidence interval and the matching Elo difference; for
+ * each player, nodes per second over searched moves and the move latency
+ * distribution. Run with {@code mvn -Ptools compile exec:java
+ * -Dexec.mainClass=com.ranked4.ai.tools.Tournament -Dexec.args="<player> <player> [<player>...]
+ * [--games 1000] [--opening-plies 2] [--threads N] [--seed 42] [--book path]"}.
+ */
+public final class Tournament {
+
+    private static final double Z_95 = 1.96;
+
+    public static void main(String[] args) throws Exception {
+        List<String> specs = new ArrayList<>();
+        int games = 1000;
+        int openingPlies = 2;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 42L;
+        OpeningBook book = OpeningBook.empty();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--opening-plies" -> openingPlies = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--book" -> book = OpeningBook.open(Path.of(args[++i]));
+                default -> {
+                    if (args[i].startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                    }
+                    specs.add(args[i]);
+                }
+            }
+        }
+        if (specs.size() < 2) {
+            System.err.println("Usage: Tournament <player> <player> [<player>...] [--games N] [--opening-plies K]"
+                    + " [--threads T] [--seed S] [--book path]");
+            System.err.println("  player: minimax|mcts:<level 1-4>[:<budgetMs>[:<playouts>]]");
+            System.exit(1);
+        }
+
+        List<Player> players = new ArrayList<>();
+        for (String spec : specs) {
+            players.add(Player.parse(spec, book));
+        }
+        List<Bitboard> openings = openings(Math.max(1, games / 2), openingPlies, new SplittableRandom(seed));
+
+        System.out.printf("%d players, %d games per pairing from %d openings of %d plies, %d threads%n",
+                players.size(), openings.size() * 2, openings.size(), openingPlies, threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            System.out.printf("%n%-24s %-24s %6s %6s %6s %16s %20s%n", "first", "second", "wins", "draws",
+                    "losses", "score", "elo");
+            for (int a = 0; a < players.size(); a++) {
+                for (int b = a + 1; b < players.size(); b++) {
+                    Result result = play(executor, players.get(a), players.get(b), openings);
+                    System.out.printf("%-24s %-24s %6d %6d %6d %16s %20s%n", players.get(a).name,
+                            players.get(b).name, result.wins, result.draws, result.losses, result.scoreText(),
+                            result.eloText());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        System.out.printf("%n%-24s %8s %12s %9s %9s %9s %9s%n", "player", "moves", "nodes/s", "p50 ms", "p90 ms",
+                "p99 ms", "max ms");
+        for (Player player : players) {
+            player.report();
+        }
+    }
+
+    private static Result play(ExecutorService executor, Player first, Player second, List<Bitboard> openings)
+            throws Exception {
+        List<Future<Integer>> games = new ArrayList<>();
+        for (Bitboard opening : openings) {
+            games.add(executor.submit(() -> game(opening, first, second)));
+            games.add(executor.submit(() -> -game(opening, second, first)));
+        }
+
+        Result result = new Result();
+        for (Future<Integer> game : games) {
+            int outcome = game.get();
+            if (outcome > 0) {
+                result.wins++;
+            } else if (outcome < 0) {
+                result.losses++;
+            } else {
+                result.draws++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays one game from {@code opening}, {@code toMove} moving first, and
+     * returns 1 if it wins, -1 if it loses and 0 for a draw.
+     */
+    private static int game(Bitboard opening, Player toMove, Player other) {
+        Bitboard board = opening.copy();
+        UUID gameId = UUID.randomUUID();
+        Player player = toMove;
+        while (true) {
+            int col = player.move(board, gameId);
+            if (!board.canPlay(col)) {
+                throw new IllegalStateException(player.name + " played full column " + col);
+            }
+            boolean wins = board.isWinningMove(col);
+            board.play(col);
+            if (wins) {
+                return player == toMove ? 1 : -1;
+            }
+            if (board.isFull()) {
+                return 0;
+            }
+            player = player == toMove ? other : toMove;
+        }
+    }
+
+    /**
+     * Distinct random openings that neither end the game nor leave a win on
+     * the board for the side to move.
+     */
+    private static List<Bitboard> openings(int count, int plies, SplittableRandom random) {
+        List<Bitboard> openings = new ArrayList<>();
+        Set<Long> keys = new HashSet<>();
+        int attempts = 0;
+        while (openings.size() < count) {
+            Bitboard board = new Bitboard();
+            boolean valid = true;
+            for (int ply = 0; ply < plies && valid; ply++) {
+                int col = random.nextInt(Bitboard.WIDTH);
+                valid = board.canPlay(col) && !board.isWinningMove(col);
+                if (valid) {
+                    board.play(col);
+                }
+            }
+            for (int col = 0; col < Bitboard.WIDTH && valid; col++) {
+                valid = !(board.canPlay(col) && board.isWinningMove(col));
+            }
+
+            // Short openings have few distinct positions: repeat them rather than loop forever
+            boolean repeat = ++attempts > count * 20;
+            if (valid && (keys.add(board.key()) || repeat)) {
+                openings.add(board);
+            }
+        }
+        return openings;
+    }
+
+    private static final class Player {
+        private final String name;
+        private final MoveStrategy strategy;
+        private final Difficulty level;
+        private final Long budgetMs;
+        private final AtomicInteger moves = new AtomicInteger();
+        private long nodes;
+        private long searchNanos;
+        private long[] latencies = new long[1024];
+        private int latencyCount;
+
+        private Player(String name, MoveStrategy strategy, Difficulty level, Long budgetMs) {
+            this.name = name;
+            this.strategy = strategy;
+            this.level = level;
+            this.budgetMs = budgetMs;
+        }
+
+        static Player parse(String spec, OpeningBook book) {
+            String[] parts = spec.split(":", -1);
+            if (parts.length < 2 || parts.length > 4) {
+                throw new IllegalArgumentException("Bad player " + spec);
+            }
+            int levelNumber = Integer.parseInt(parts[1]);
+            if (levelNumber < 1 || levelNumber > 4) {
+                throw new IllegalArgumentException("Level must be between 1 and 4 in " + spec);
+            }
+            Difficulty level = Difficulty.fromLevel(levelNumber);
+            Long budgetMs = parts.length > 2 && !parts[2].isEmpty() ? Long.valueOf(parts[2]) : null;
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            MoveStrategy strategy = switch (parts[0]) {
+                case "minimax" -> {
+                    if (parts.length > 3) {
+                        throw new IllegalArgumentException("Playouts only apply to mcts in " + spec);
+                    }
+                    yield new MinimaxStrategy(new TranspositionTable(64), ForkJoinPool.commonPool(), book,
+                            new SolverTable(22),
+                            new PositionCache<>("move", 0, CachedMove.ENTRY_BYTES, CachedMove::mirror, registry),
+                            PositionStore.disabled(), 3, 3, 3, true, 1000, 3);
+                }
+                case "mcts" -> {
+                    int[] playouts = {200, 1000, 5000, 20000};
+                    if (parts.length > 3) {
+                        Arrays.fill(playouts, Integer.parseInt(parts[3]));
+                    }
+                    yield new MctsStrategy(ForkJoinPool.commonPool(), registry, playouts[0], playouts[1],
+                            playouts[2], playouts[3], 256, 300_000L);
+                }
+                default -> throw new IllegalArgumentException("Unknown engine in " + spec);
+            };
+            return new Player(spec, strategy, level, budgetMs);
+        }
+
+        int move(Bitboard board, UUID gameId) {
+            long start = System.nanoTime();
+            MoveDecision decision = strategy.choose(board.copy(), level, budgetMs, null, 1, gameId);
+            long elapsed = System.nanoTime() - start;
+
+            moves.incrementAndGet();
+            synchronized (this) {
+                if (decision.statistics().nodes() > 0) {
+                    nodes += decision.statistics().nodes();
+                    searchNanos += elapsed;
+                }
+                if (latencyCount == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, latencyCount * 2);
+                }
+                latencies[latencyCount++] = elapsed;
+            }
+            return decision.column();
+        }
+
+        synchronized void report() {
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            double nodesPerSecond = searchNanos == 0 ? 0.0 : nodes * 1e9 / searchNanos;
+            System.out.printf("%-24s %8d %12.0f %9.2f %9.2f %9.2f %9.2f%n", name, moves.get(), nodesPerSecond,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static final class Result {
+        private int wins;
+        private int draws;
+        private int losses;
+
+        int games() {
+            return wins + draws + losses;
+        }
+
+        double score() {
+            return (wins + 0.5 * draws) / games();
+        }
+
+        /**
+         * Half-width of the 95% confidence interval of the score, from the
+         * variance of the per-game results.
+         */
+        double margin() {
+            double score = score();
+            double variance = (wins * Math.pow(1 - score, 2) + draws * Math.pow(0.5 - score, 2)
+                    + losses * Math.pow(score, 2)) / games();
+            return Z_95 * Math.sqrt(variance / games());
+        }
+
+        String scoreText() {
+            return String.format("%.1f%% +/- %.1f", score() * 100, margin() * 100);
+        }
+
+        String eloText() {
+            double score = score();
+            double margin = margin();
+            return String.format("%s [%s, %s]", elo(score), elo(score - margin), elo(score + margin));
+        }
+
+        private static String elo(double score) {
+            if (score <= 0) {
+                return "-inf";
+            }
+            if (score >= 1) {
+                return "+inf";
+            }
+            return String.format("%+.0f", -400 * Math.log10(1 / score - 1));
+        }
+    }
+}
@@ -0,0 +1,515 @@
+package com.ranked4.engine;
+
+import java.util.Arrays;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning over a {@link Bitboard}.
+ * <p>
+ * Scores are the heuristic of {@link Evaluator} seen from the AI, negated on
+ * the opponent's plies, so every node returns exactly what the former
+ * maximizing/minimizing minimax returned for it. Make/unmake is done in place,
+ * updating an {@link IncrementalEvaluator} alongside the board, and the search
+ * allocates nothing per node.
+ */
+public final class AlphaBetaSearch {
+
+    public static final int MAX_SCORE = 1000000;
+    static final int INFINITY = Integer.MAX_VALUE;
+    private static final int MATE_THRESHOLD = MAX_SCORE / 2;
+    private static final int DEADLINE_CHECK_INTERVAL = 1023;
+
+    /**
+     * The heuristic is not symmetric between the AI and its opponent, so the
+     * same stones are a different entry depending on which side the AI is.
+     */
+    private static final long AI_ON_ODD_PLIES_KEY = 0x9E3779B97F4A7C15L;
+
+    private static final int[] LEFT_TO_RIGHT_ORDER = {0, 1, 2, 3, 4, 5, 6};
+    private static final int MAX_PLY = Bitboard.CELLS + 1;
+    private static final int TT_MOVE_PRIORITY = Integer.MAX_VALUE;
+    private static final int KILLER_PRIORITY = Integer.MAX_VALUE - 2;
+    private static final long ALL_CELLS = Bitboard.BOARD_MASK;
+
+    private final Bitboard board;
+    private final IncrementalEvaluator evaluator;
+    private final TranspositionTable table;
+    private final int aiParity;
+    private final long sideKey;
+    private final int rootMoves;
+    private final int[][] moveBuffers = new int[MAX_PLY][Bitboard.WIDTH];
+    private final int[][] priorityBuffers = new int[MAX_PLY][Bitboard.WIDTH];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[2][Bitboard.WIDTH * Bitboard.H1];
+    private boolean moveOrdering = true;
+    private int previousBestMove = TranspositionTable.NO_MOVE;
+    private int generation;
+    private SearchLimits limits;
+    private boolean checkDeadline;
+    private boolean aborted;
+    private int rootScore;
+    private boolean rootTied;
+    private boolean bestMoveUnique;
+    private int completedDepth;
+    private long nodes;
+    private long lastIterationNodes;
+    private long tableProbes;
+    private long tableHits;
+    private long expandedNodes;
+    private long cutoffs;
+
+    public AlphaBetaSearch(Bitboard board, TranspositionTable table) {
+        this.board = board;
+        this.table = table;
+        this.aiParity = board.moveCount() & 1;
+        this.sideKey = aiParity == 1 ? AI_ON_ODD_PLIES_KEY : 0L;
+        this.rootMoves = board.moveCount();
+        this.evaluator = new IncrementalEvaluator(board.currentStones(), board.opponentStones());
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = TranspositionTable.NO_MOVE;
+            plyKillers[1] = TranspositionTable.NO_MOVE;
+        }
+    }
+
+    /**
+     * Disables move ordering so columns are searched left to right with a
+     * full window at the root, as the original engine did. Only useful to
+     * measure what ordering saves.
+     */
+    public void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    /**
+     * Iterative deepening up to {@code limits.maxDepth()}. Each iteration
+     * searches every legal root move and keeps the leftmost column with the
+     * highest score; the move of the deepest
+     * iteration that finished before the deadline is returned. The first
+     * iteration always runs to completion. A {@link Tactics#forcedMove} is
+     * returned without searching.
+     */
+    public int bestMove(SearchLimits limits) {
+        bestMoveUnique = false;
+        int forced = Tactics.forcedMove(board);
+        if (forced != Tactics.NO_MOVE) {
+            return forced;
+        }
+
+        begin(limits, table != null ? table.newSearch() : 0);
+        int bestMove = -1;
+
+        for (int depth = 1; depth <= limits.maxDepth(); depth++) {
+            beginIteration(depth);
+            long nodesBefore = nodes;
+            int move = searchRoot(depth);
+            if (aborted) {
+                break;
+            }
+
+            lastIterationNodes = nodes - nodesBefore;
+            bestMove = move;
+            bestMoveUnique = !rootTied;
+            previousBestMove = move;
+            completedDepth = depth;
+            if (isWin(rootScore)) {
+                break;
+            }
+        }
+
+        if (bestMove == -1) {
+            throw new IllegalStateException("No valid moves available");
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Like {@link #bestMove}, but every root move is searched with a full
+     * window so all of their scores are exact at the depth reached. Slower
+     * than a move search; meant for analysis. The principal variation is
+     * read back from the transposition table, so it is the best move alone
+     * without one.
+     */
+    public SearchAnalysis analyze(SearchLimits limits) {
+        begin(limits, table != null ? table.newSearch() : 0);
+        int[] scores = null;
+        int bestMove = -1;
+
+        for (int depth = 1; depth <= limits.maxDepth(); depth++) {
+            beginIteration(depth);
+            int[] iteration = new int[Bitboard.WIDTH];
+            Arrays.fill(iteration, SearchAnalysis.NO_SCORE);
+            int iterationBest = -1;
+            int iterationScore = Integer.MIN_VALUE;
+
+            for (int col : Bitboard.CENTER_OUT_ORDER) {
+                if (!board.canPlay(col)) {
+                    continue;
+                }
+                iteration[col] = searchRootMove(col, depth, -INFINITY);
+                if (aborted) {
+                    break;
+                }
+                if (isBetterRootMove(col, iteration[col], iterationBest, iterationScore)) {
+                    iterationBest = col;
+                    iterationScore = iteration[col];
+                }
+            }
+            if (aborted) {
+                break;
+            }
+
+            scores = iteration;
+            bestMove = iterationBest;
+            completedDepth = depth;
+            if (isWin(scores[bestMove])) {
+                break;
+            }
+        }
+
+        if (bestMove == -1) {
+            throw new IllegalStateException("No valid moves available");
+        }
+
+        GameValue[] values = new GameValue[Bitboard.WIDTH];
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (scores[col] != SearchAnalysis.NO_SCORE) {
+                values[col] = gameValue(scores[col], completedDepth);
+            }
+        }
+        return new SearchAnalysis(bestMove, scores, values, principalVariation(bestMove), completedDepth, false);
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Whether the move of the last {@link #bestMove} scored strictly higher
+     * than every other root move in its iteration. Only then is the mirror
+     * image of the move the one this search picks in the mirrored position,
+     * since ties go to the leftmost column. False for a forced move.
+     */
+    public boolean isBestMoveUnique() {
+        return bestMoveUnique;
+    }
+
+    public long lastIterationNodes() {
+        return lastIterationNodes;
+    }
+
+    public SearchStatistics statistics() {
+        return new SearchStatistics(nodes, completedDepth, tableProbes, tableHits, expandedNodes, cutoffs);
+    }
+
+    /**
+     * Value of a root move scored {@code score} by a search to {@code depth}:
+     * proven when the search saw a forced win or loss, null otherwise.
+     */
+    static GameValue gameValue(int score, int depth) {
+        if (Math.abs(score) <= MATE_THRESHOLD) {
+            return null;
+        }
+        int plies = depth - (Math.abs(score) - MAX_SCORE);
+        return new GameValue(score > 0 ? GameValue.Outcome.WIN : GameValue.Outcome.LOSS, plies);
+    }
+
+    static boolean isWin(int score) {
+        return score > MATE_THRESHOLD;
+    }
+
+    /**
+     * Lower bound of the window a root move is searched with: just below the
+     * best score so far, so a move that ties it is scored exactly and
+     * {@link #isBetterRootMove} can keep the leftmost of the two, which keeps
+     * the result identical to scanning columns left to right with a full
+     * window, and tell that the best move is not unique.
+     */
+    static int rootAlpha(int bestMove, int bestScore) {
+        return bestMove == -1 ? -INFINITY : bestScore - 1;
+    }
+
+    static boolean isBetterRootMove(int col, int score, int bestMove, int bestScore) {
+        return bestMove == -1 || score > bestScore || (score == bestScore && col < bestMove);
+    }
+
+    /**
+     * Whether a root move scored {@code score} leaves the best move tied,
+     * given whether it was tied before.
+     */
+    static boolean isRootTie(int score, int bestMove, int bestScore, boolean tied) {
+        if (bestMove == -1 || score > bestScore) {
+            return false;
+        }
+        return tied || score == bestScore;
+    }
+
+    void begin(SearchLimits limits, int generation) {
+        this.limits = limits;
+        this.generation = generation;
+        this.aborted = false;
+    }
+
+    void beginIteration(int depth) {
+        checkDeadline = depth > 1;
+    }
+
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Copies the root moves into {@code out}, {@code firstMove} first and the
+     * others in center-out order, and returns how many there are.
+     */
+    int orderRootMoves(int firstMove, int[] out) {
+        int count = orderMoves(0, firstMove, ALL_CELLS);
+        System.arraycopy(moveBuffers[0], 0, out, 0, count);
+        return count;
+    }
+
+    /**
+     * Exact score of {@code col} if it is above {@code alpha}, otherwise an
+     * upper bound no greater than {@code alpha}.
+     */
+    int searchRootMove(int col, int depth, int alpha) {
+        play(col);
+        int score = -negamax(depth - 1, -INFINITY, -alpha);
+        undo(col);
+        return score;
+    }
+
+    private int[] principalVariation(int firstMove) {
+        int[] line = new int[Math.max(1, completedDepth)];
+        Bitboard position = board.copy();
+        int length = 0;
+        int move = firstMove;
+
+        while (true) {
+            line[length++] = move;
+            position.play(move);
+            if (length == line.length || table == null || position.lastMoverWon() || position.isFull()) {
+                break;
+            }
+            long entry = table.probe(position.hash() ^ sideKey);
+            move = entry != 0 ? TranspositionTable.move(entry) : TranspositionTable.NO_MOVE;
+            if (move == TranspositionTable.NO_MOVE || !position.canPlay(move)) {
+                break;
+            }
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    /**
+     * Searches the previous iteration's best move first, then the others in
+     * center-out order.
+     */
+    private int searchRoot(int depth) {
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        boolean tied = false;
+        int count = orderMoves(0, previousBestMove, ALL_CELLS);
+        int[] moves = moveBuffers[0];
+
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+            int alpha = moveOrdering ? rootAlpha(bestMove, bestScore) : -INFINITY;
+            int score = searchRootMove(col, depth, alpha);
+
+            if (aborted) {
+                return -1;
+            }
+            tied = isRootTie(score, bestMove, bestScore, tied);
+            if (isBetterRootMove(col, score, bestMove, bestScore)) {
+                bestScore = score;
+                bestMove = col;
+            }
+        }
+
+        rootScore = bestScore;
+        rootTied = tied;
+        return bestMove;
+    }
+
+    private int negamax(int depth, int alpha, int beta) {
+        if ((++nodes & DEADLINE_CHECK_INTERVAL) == 0 && checkDeadline && limits.isExpired()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        if (board.lastMoverWon()) {
+            return -(MAX_SCORE + depth);
+        }
+        if (board.isFull()) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate();
+        }
+
+        // From two plies on, a full search would score an immediate win highest and every move that lets the
+        // opponent win next lowest: skip them both
+        long allowed = ALL_CELLS;
+        if (depth >= 2) {
+            long position = board.currentStones();
+            long mask = board.mask();
+            if (Tactics.winningMoves(position, mask) != 0) {
+                return MAX_SCORE + depth - 1;
+            }
+            allowed = Tactics.nonLosingMoves(position, mask);
+            if (allowed == 0) {
+                return -(MAX_SCORE + depth - 2);
+            }
+        }
+
+        long key = board.hash() ^ sideKey;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            long entry = table.probe(key);
+            tableProbes++;
+            if (entry != 0) {
+                tableHits++;
+                hashMove = TranspositionTable.move(entry);
+            }
+            if (entry != 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.score(entry, depth);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        expandedNodes++;
+        int ply = board.moveCount() - rootMoves;
+        int count = orderMoves(ply, hashMove, allowed);
+        int[] moves = moveBuffers[ply];
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int col = moves[i];
+
+            play(col);
+            int score = -negamax(depth - 1, -beta, -alpha);
+            undo(col);
+
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = col;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+            if (alpha >= beta) {
+                cutoffs++;
+                recordCutoff(ply, col, depth);
+                break;
+            }
+        }
+
+        if (table != null) {
+            int bound = best <= originalAlpha ? TranspositionTable.BOUND_UPPER
+                    : best >= beta ? TranspositionTable.BOUND_LOWER
+                    : TranspositionTable.BOUND_EXACT;
+            table.store(key, depth, best, bound, bestMove, generation);
+        }
+        return best;
+    }
+
+    /**
+     * Fills the ply's move buffer with the playable columns among
+     * {@code allowed} cells: the hash move first, then this ply's killer
+     * moves, then the rest by history score, ties kept in center-out order.
+     */
+    private int orderMoves(int ply, int hashMove, long allowed) {
+        int[] moves = moveBuffers[ply];
+        int count = 0;
+
+        if (!moveOrdering) {
+            for (int col : LEFT_TO_RIGHT_ORDER) {
+                if (board.canPlay(col) && (allowed & Bitboard.columnMask(col)) != 0) {
+                    moves[count++] = col;
+                }
+            }
+            return count;
+        }
+
+        int[] priorities = priorityBuffers[ply];
+        int[] sideHistory = history[board.moveCount() & 1];
+        int[] plyKillers = killers[ply];
+
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            if (!board.canPlay(col) || (allowed & Bitboard.columnMask(col)) == 0) {
+                continue;
+            }
+
+            int priority;
+            if (col == hashMove) {
+                priority = TT_MOVE_PRIORITY;
+            } else if (col == plyKillers[0]) {
+                priority = KILLER_PRIORITY;
+            } else if (col == plyKillers[1]) {
+                priority = KILLER_PRIORITY - 1;
+            } else {
+                priority = sideHistory[landingSquare(col)];
+            }
+
+            int i = count++;
+            while (i > 0 && priorities[i - 1] < priority) {
+                moves[i] = moves[i - 1];
+                priorities[i] = priorities[i - 1];
+                i--;
+            }
+            moves[i] = col;
+            priorities[i] = priority;
+        }
+        return count;
+    }
+
+    private void recordCutoff(int ply, int col, int depth) {
+        if (!moveOrdering) {
+            return;
+        }
+
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != col) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = col;
+        }
+
+        int[] sideHistory = history[board.moveCount() & 1];
+        int square = landingSquare(col);
+        sideHistory[square] = Math.min(sideHistory[square] + depth * depth, KILLER_PRIORITY - 2);
+    }
+
+    private void play(int col) {
+        evaluator.add(landingSquare(col), (board.moveCount() & 1) == aiParity);
+        board.play(col);
+    }
+
+    private void undo(int col) {
+        board.undo(col);
+        evaluator.remove(landingSquare(col), (board.moveCount() & 1) == aiParity);
+    }
+
+    private int landingSquare(int col) {
+        return Long.numberOfTrailingZeros((board.mask() + Bitboard.bottomMask(col)) & Bitboard.columnMask(col));
+    }
+
+    private int evaluate() {
+        int score = evaluator.score();
+        return (board.moveCount() & 1) == aiParity ? score : -score;
+    }
+}
@@ -0,0 +1,275 @@
+package com.ranked4.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Connect 4 position encoded as two 64-bit boards.
+ * <p>
+ * Each column uses {@code HEIGHT + 1} bits (bottom row first), the extra
+ * sentinel bit keeping shifted alignments from wrapping into the next column.
+ * {@code position} holds the stones of the player to move and {@code mask}
+ * holds every stone on the board.
+ */
+public final class Bitboard {
+
+    public static final int WIDTH = 7;
+    public static final int HEIGHT = 6;
+    public static final int H1 = HEIGHT + 1;
+    public static final int CELLS = WIDTH * HEIGHT;
+
+    public static final long BOTTOM_MASK = bottomMask();
+    public static final long BOARD_MASK = BOTTOM_MASK * ((1L << HEIGHT) - 1);
+
+    static final int[] CENTER_OUT_ORDER = {3, 2, 4, 1, 5, 0, 6};
+
+    private static final long[][] ZOBRIST = zobristKeys();
+
+    private long position;
+    private long mask;
+    private int moves;
+    private long hash;
+
+    public Bitboard() {
+    }
+
+    private Bitboard(long position, long mask, int moves, long hash) {
+        this.position = position;
+        this.mask = mask;
+        this.moves = moves;
+        this.hash = hash;
+    }
+
+    /**
+     * Builds a position from the 42-char row-major grid used by the API
+     * (row 0 is the top row), with {@code playerToMove} to play next.
+     */
+    public static Bitboard fromGrid(String grid, int playerToMove) {
+        if (grid == null || grid.length() != CELLS) {
+            throw new IllegalArgumentException("Grid must contain " + CELLS + " cells");
+        }
+
+        char own = Character.forDigit(playerToMove, 10);
+        long position = 0L;
+        long mask = 0L;
+        int moves = 0;
+
+        for (int row = 0; row < HEIGHT; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                char cell = grid.charAt(row * WIDTH + col);
+                if (cell == '0') {
+                    continue;
+                }
+                long bit = 1L << (col * H1 + (HEIGHT - 1 - row));
+                mask |= bit;
+                if (cell == own) {
+                    position |= bit;
+                }
+                moves++;
+            }
+        }
+
+        if ((mask & (mask + BOTTOM_MASK)) != 0) {
+            throw new IllegalArgumentException("Grid has a disc above an empty cell");
+        }
+
+        long hash = zobrist(position, moves & 1) ^ zobrist(position ^ mask, (moves + 1) & 1);
+        return new Bitboard(position, mask, moves, hash);
+    }
+
+    public Bitboard copy() {
+        return new Bitboard(position, mask, moves, hash);
+    }
+
+    public boolean canPlay(int col) {
+        return (mask & topMask(col)) == 0;
+    }
+
+    public void play(int col) {
+        long stone = (mask + bottomMask(col)) & columnMask(col);
+        hash ^= ZOBRIST[moves & 1][Long.numberOfTrailingZeros(stone)];
+        position ^= mask;
+        mask |= stone;
+        moves++;
+    }
+
+    /**
+     * Reverts the last {@link #play(int)} made in {@code col}.
+     */
+    public void undo(int col) {
+        long top = Long.highestOneBit(mask & columnMask(col));
+        mask ^= top;
+        position ^= mask;
+        moves--;
+        hash ^= ZOBRIST[moves & 1][Long.numberOfTrailingZeros(top)];
+    }
+
+    public boolean isWinningMove(int col) {
+        long pos = position | ((mask + bottomMask(col)) & columnMask(col));
+        return alignment(pos);
+    }
+
+    /**
+     * True when the player who just moved has four in a row.
+     */
+    public boolean lastMoverWon() {
+        return alignment(position ^ mask);
+    }
+
+    public boolean isFull() {
+        return moves == CELLS;
+    }
+
+    public long currentStones() {
+        return position;
+    }
+
+    public long opponentStones() {
+        return position ^ mask;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public int moveCount() {
+        return moves;
+    }
+
+    /**
+     * Unique 49-bit key of the position as seen by the player to move
+     * (stones to move plus occupancy, the carry encoding column heights).
+     */
+    public long key() {
+        return position + mask;
+    }
+
+    /**
+     * Zobrist hash of the stones, keyed by whether each stone was played on
+     * an even or odd ply, maintained incrementally by play/undo.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Bits of a board, or of a {@link #key()}, reflected left to right:
+     * column {@code c} moves to {@code WIDTH - 1 - c}.
+     */
+    public static long mirror(long bits) {
+        long mirrored = 0L;
+        for (int col = 0; col < WIDTH; col++) {
+            long column = (bits >>> (col * H1)) & ((1L << H1) - 1);
+            mirrored |= column << ((WIDTH - 1 - col) * H1);
+        }
+        return mirrored;
+    }
+
+    /**
+     * Columns from the center outwards, the order the searches try moves in.
+     */
+    public static int[] centerOutOrder() {
+        return CENTER_OUT_ORDER.clone();
+    }
+
+    public static boolean alignment(long pos) {
+        long m = pos & (pos >> H1);
+        if ((m & (m >> (2 * H1))) != 0) {
+            return true;
+        }
+
+        m = pos & (pos >> HEIGHT);
+        if ((m & (m >> (2 * HEIGHT))) != 0) {
+            return true;
+        }
+
+        m = pos & (pos >> (HEIGHT + 2));
+        if ((m & (m >> (2 * (HEIGHT + 2)))) != 0) {
+            return true;
+        }
+
+        m = pos & (pos >> 1);
+        return (m & (m >> 2)) != 0;
+    }
+
+    /**
+     * Cells where a stone would be played next in each non-full column.
+     */
+    public static long possibleMoves(long mask) {
+        return (mask + BOTTOM_MASK) & BOARD_MASK;
+    }
+
+    /**
+     * Empty cells that would complete four in a row for {@code stones},
+     * whether or not they are playable yet.
+     */
+    public static long winningCells(long stones, long mask) {
+        long r = (stones << 1) & (stones << 2) & (stones << 3);
+
+        long p = (stones << H1) & (stones << 2 * H1);
+        r |= p & (stones << 3 * H1);
+        r |= p & (stones >> H1);
+        p = (stones >> H1) & (stones >> 2 * H1);
+        r |= p & (stones << H1);
+        r |= p & (stones >> 3 * H1);
+
+        p = (stones << HEIGHT) & (stones << 2 * HEIGHT);
+        r |= p & (stones << 3 * HEIGHT);
+        r |= p & (stones >> HEIGHT);
+        p = (stones >> HEIGHT) & (stones >> 2 * HEIGHT);
+        r |= p & (stones << HEIGHT);
+        r |= p & (stones >> 3 * HEIGHT);
+
+        p = (stones << (HEIGHT + 2)) & (stones << 2 * (HEIGHT + 2));
+        r |= p & (stones << 3 * (HEIGHT + 2));
+        r |= p & (stones >> (HEIGHT + 2));
+        p = (stones >> (HEIGHT + 2)) & (stones >> 2 * (HEIGHT + 2));
+        r |= p & (stones << (HEIGHT + 2));
+        r |= p & (stones >> 3 * (HEIGHT + 2));
+
+        return r & (BOARD_MASK ^ mask);
+    }
+
+    public static long bottomMask(int col) {
+        return 1L << (col * H1);
+    }
+
+    public static long topMask(int col) {
+        return 1L << (HEIGHT - 1 + col * H1);
+    }
+
+    public static long columnMask(int col) {
+        return ((1L << HEIGHT) - 1) << (col * H1);
+    }
+
+    public static long cellBit(int col, int rowFromBottom) {
+        return 1L << (col * H1 + rowFromBottom);
+    }
+
+    private static long zobrist(long stones, int parity) {
+        long h = 0L;
+        while (stones != 0) {
+            h ^= ZOBRIST[parity][Long.numberOfTrailingZeros(stones)];
+            stones &= stones - 1;
+        }
+        return h;
+    }
+
+    private static long[][] zobristKeys() {
+        SplittableRandom random = new SplittableRandom(0x52346B34L);
+        long[][] keys = new long[2][WIDTH * H1];
+        for (long[] parityKeys : keys) {
+            for (int i = 0; i < parityKeys.length; i++) {
+                parityKeys[i] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+
+    private static long bottomMask() {
+        long bottom = 0L;
+        for (int col = 0; col < WIDTH; col++) {
+            bottom |= bottomMask(col);
+        }
+        return bottom;
+    }
+}
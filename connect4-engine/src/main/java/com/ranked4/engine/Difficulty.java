@@ -0,0 +1,64 @@
+package com.ranked4.engine;
+
+public enum Difficulty {
+    EASY(1, 4, 100, 80, false),
+    MEDIUM(2, 5, 200, 0, false),
+    HARD(3, 6, 500, 0, false),
+    VERY_HARD(4, 8, 1500, 0, true);
+
+    private final int level;
+    private final int maxDepth;
+    private final long timeBudgetMs;
+    private final int randomMovePercent;
+    private final boolean perfectPlay;
+
+    Difficulty(int level, int maxDepth, long timeBudgetMs, int randomMovePercent, boolean perfectPlay) {
+        this.level = level;
+        this.maxDepth = maxDepth;
+        this.timeBudgetMs = timeBudgetMs;
+        this.randomMovePercent = randomMovePercent;
+        this.perfectPlay = perfectPlay;
+    }
+
+    public static Difficulty fromLevel(int level) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.level == level) {
+                return difficulty;
+            }
+        }
+        return MEDIUM;
+    }
+
+    /**
+     * Limits for one move: the difficulty's depth cap and the smaller of its
+     * own budget and the one requested by the caller, if any.
+     */
+    public SearchLimits limits(Long requestedBudgetMs) {
+        long budget = requestedBudgetMs != null ? Math.min(timeBudgetMs, requestedBudgetMs) : timeBudgetMs;
+        return SearchLimits.withBudget(maxDepth, budget);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public int getRandomMovePercent() {
+        return randomMovePercent;
+    }
+
+    /**
+     * Whether moves come from the exact {@link Solver}, the depth-limited
+     * search being only the fallback when it runs out of time.
+     */
+    public boolean isPerfectPlay() {
+        return perfectPlay;
+    }
+}
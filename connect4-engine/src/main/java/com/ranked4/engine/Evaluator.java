@@ -0,0 +1,88 @@
+package com.ranked4.engine;
+
+/**
+ * Static heuristic: center column control plus a score for every one of the
+ * 69 four-cell windows, always from the AI's point of view.
+ */
+public final class Evaluator {
+
+    public static final int WIN_LENGTH = 4;
+    public static final long[] WINDOWS = buildWindows();
+    public static final long CENTER_COLUMN = Bitboard.columnMask(Bitboard.WIDTH / 2);
+
+    private Evaluator() {
+    }
+
+    public static int evaluate(long aiStones, long opponentStones) {
+        int score = 3 * (Long.bitCount(aiStones & CENTER_COLUMN) - Long.bitCount(opponentStones & CENTER_COLUMN));
+
+        for (long window : WINDOWS) {
+            score += windowScore(Long.bitCount(aiStones & window), Long.bitCount(opponentStones & window));
+        }
+
+        return score;
+    }
+
+    public static int windowScore(int aiCount, int opponentCount) {
+        int emptyCount = WIN_LENGTH - aiCount - opponentCount;
+
+        if (aiCount == 4)
+            return 100;
+        if (opponentCount == 4)
+            return -100;
+
+        if (aiCount == 3 && emptyCount == 1)
+            return 5;
+        if (aiCount == 2 && emptyCount == 2)
+            return 2;
+
+        if (opponentCount == 3 && emptyCount == 1)
+            return -50;
+        if (opponentCount == 2 && emptyCount == 2)
+            return -2;
+
+        return 0;
+    }
+
+    private static long[] buildWindows() {
+        int width = Bitboard.WIDTH;
+        int height = Bitboard.HEIGHT;
+        long[] windows = new long[69];
+        int index = 0;
+
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col <= width - WIN_LENGTH; col++) {
+                long window = 0L;
+                for (int i = 0; i < WIN_LENGTH; i++) {
+                    window |= Bitboard.cellBit(col + i, row);
+                }
+                windows[index++] = window;
+            }
+        }
+
+        for (int col = 0; col < width; col++) {
+            for (int row = 0; row <= height - WIN_LENGTH; row++) {
+                long window = 0L;
+                for (int i = 0; i < WIN_LENGTH; i++) {
+                    window |= Bitboard.cellBit(col, row + i);
+                }
+                windows[index++] = window;
+            }
+        }
+
+        for (int row = 0; row <= height - WIN_LENGTH; row++) {
+            for (int col = 0; col <= width - WIN_LENGTH; col++) {
+                long rising = 0L;
+                long falling = 0L;
+                for (int i = 0; i < WIN_LENGTH; i++) {
+                    rising |= Bitboard.cellBit(col + i, row + i);
+                    falling |= Bitboard.cellBit(col + i, row + WIN_LENGTH - 1 - i);
+                }
+                windows[index++] = rising;
+                windows[index++] = falling;
+            }
+        }
+
+        return windows;
+    }
+}
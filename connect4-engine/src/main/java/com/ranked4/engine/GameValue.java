@@ -0,0 +1,36 @@
+package com.ranked4.engine;
+
+/**
+ * Proven outcome of a position for the player to move, and how many plies
+ * the game lasts from here with perfect play on both sides.
+ */
+public record GameValue(Outcome outcome, int plies) {
+
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+
+    /**
+     * Converts a {@link Solver} score for a position with
+     * {@code movesPlayed} stones on the board.
+     */
+    public static GameValue fromScore(int score, int movesPlayed) {
+        if (score == 0) {
+            return new GameValue(Outcome.DRAW, Bitboard.CELLS - movesPlayed);
+        }
+        if (score > 0) {
+            return new GameValue(Outcome.WIN, lastMoveIndex(score, movesPlayed) - movesPlayed + 1);
+        }
+        return new GameValue(Outcome.LOSS, lastMoveIndex(-score, movesPlayed + 1) - movesPlayed + 1);
+    }
+
+    /**
+     * Number of stones on the board when the winner plays the winning move:
+     * a win on that move scores {@code (CELLS + 1 - moves) / 2} and the
+     * winner only moves on plies of the same parity as {@code firstMove}.
+     */
+    private static int lastMoveIndex(int score, int firstMove) {
+        int moves = Bitboard.CELLS + 1 - 2 * score;
+        return (moves & 1) == (firstMove & 1) ? moves : moves - 1;
+    }
+}
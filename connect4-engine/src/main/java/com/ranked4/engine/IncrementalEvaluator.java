@@ -0,0 +1,92 @@
+package com.ranked4.engine;
+
+import java.util.Arrays;
+
+/**
+ * {@link Evaluator} kept up to date move by move: per-window stone counts and
+ * the running score are adjusted for the windows through each placed or
+ * removed stone, so reading the score is O(1).
+ */
+public final class IncrementalEvaluator {
+
+    private static final int CENTER_WEIGHT = 3;
+    private static final int[][] SQUARE_WINDOWS = squareWindows();
+    private static final int[] WINDOW_SCORES = windowScores();
+
+    private final int[] aiCounts = new int[Evaluator.WINDOWS.length];
+    private final int[] opponentCounts = new int[Evaluator.WINDOWS.length];
+    private int score;
+
+    public IncrementalEvaluator(long aiStones, long opponentStones) {
+        for (int i = 0; i < Evaluator.WINDOWS.length; i++) {
+            aiCounts[i] = Long.bitCount(aiStones & Evaluator.WINDOWS[i]);
+            opponentCounts[i] = Long.bitCount(opponentStones & Evaluator.WINDOWS[i]);
+        }
+        score = Evaluator.evaluate(aiStones, opponentStones);
+    }
+
+    /**
+     * Score of the current stones from the AI's point of view, equal to
+     * {@link Evaluator#evaluate(long, long)}.
+     */
+    public int score() {
+        return score;
+    }
+
+    /**
+     * Accounts for a stone placed on bit {@code square} of the
+     * {@link Bitboard} layout.
+     */
+    public void add(int square, boolean ai) {
+        int[] counts = ai ? aiCounts : opponentCounts;
+        for (int window : SQUARE_WINDOWS[square]) {
+            score -= windowScore(window);
+            counts[window]++;
+            score += windowScore(window);
+        }
+        if (((Evaluator.CENTER_COLUMN >>> square) & 1) != 0) {
+            score += ai ? CENTER_WEIGHT : -CENTER_WEIGHT;
+        }
+    }
+
+    public void remove(int square, boolean ai) {
+        int[] counts = ai ? aiCounts : opponentCounts;
+        for (int window : SQUARE_WINDOWS[square]) {
+            score -= windowScore(window);
+            counts[window]--;
+            score += windowScore(window);
+        }
+        if (((Evaluator.CENTER_COLUMN >>> square) & 1) != 0) {
+            score -= ai ? CENTER_WEIGHT : -CENTER_WEIGHT;
+        }
+    }
+
+    private int windowScore(int window) {
+        return WINDOW_SCORES[aiCounts[window] * (Evaluator.WIN_LENGTH + 1) + opponentCounts[window]];
+    }
+
+    private static int[][] squareWindows() {
+        int[][] squareWindows = new int[Bitboard.WIDTH * Bitboard.H1][];
+        for (int square = 0; square < squareWindows.length; square++) {
+            int count = 0;
+            int[] windows = new int[Evaluator.WINDOWS.length];
+            for (int i = 0; i < Evaluator.WINDOWS.length; i++) {
+                if (((Evaluator.WINDOWS[i] >>> square) & 1) != 0) {
+                    windows[count++] = i;
+                }
+            }
+            squareWindows[square] = Arrays.copyOf(windows, count);
+        }
+        return squareWindows;
+    }
+
+    private static int[] windowScores() {
+        int[] scores = new int[(Evaluator.WIN_LENGTH + 1) * (Evaluator.WIN_LENGTH + 1)];
+        for (int ai = 0; ai <= Evaluator.WIN_LENGTH; ai++) {
+            for (int opponent = 0; ai + opponent <= Evaluator.WIN_LENGTH; opponent++) {
+                scores[ai * (Evaluator.WIN_LENGTH + 1) + opponent] = Evaluator.windowScore(ai, opponent);
+            }
+        }
+        return scores;
+    }
+}
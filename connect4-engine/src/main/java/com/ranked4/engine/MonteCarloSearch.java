@@ -0,0 +1,290 @@
+package com.ranked4.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo tree search with UCT selection, for a fixed number of playouts
+ * per move whatever the position.
+ * <p>
+ * Up to {@code threads} workers grow one shared tree. A worker counts its
+ * visit on every node on the way down before the playout ends, so the other
+ * workers see that path as less promising until the reward comes back (a
+ * virtual loss), and each node's children are guarded by the node's monitor.
+ * Playouts are random games in which the side to move still takes an
+ * immediate win, blocks the opponent's and avoids playing under the
+ * opponent's winning cells when it can.
+ * <p>
+ * The tree can be kept between the moves of a game: {@link #advance} moves
+ * the root down to the new position and keeps the statistics gathered for
+ * it. One instance per game; calls on the same instance are serialized.
+ */
+public final class MonteCarloSearch {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int MAX_REUSE_PLIES = 2;
+
+    private final ForkJoinPool pool;
+    private final int threads;
+    private Bitboard rootBoard;
+    private Node root;
+    private long playouts;
+    private int maxDepth;
+
+    public MonteCarloSearch(Bitboard board, ForkJoinPool pool, int threads) {
+        this.pool = pool;
+        this.threads = Math.max(1, threads);
+        this.rootBoard = board.copy();
+        this.root = new Node(-1, false, false);
+    }
+
+    /**
+     * Re-roots the tree at {@code board} when it is the current root or lies
+     * up to two plies below it, otherwise starts a new tree. Returns whether
+     * the previous tree was reused.
+     */
+    public synchronized boolean advance(Bitboard board) {
+        long key = board.key();
+        if (rootBoard.key() == key && rootBoard.moveCount() == board.moveCount()) {
+            return true;
+        }
+
+        int plies = board.moveCount() - rootBoard.moveCount();
+        Node found = plies > 0 && plies <= MAX_REUSE_PLIES
+                ? findDescendant(root, rootBoard.copy(), key, plies)
+                : null;
+        rootBoard = board.copy();
+        root = found != null ? found : new Node(-1, false, false);
+        return found != null;
+    }
+
+    /**
+     * Runs {@code playoutBudget} playouts from the root, fewer if the
+     * deadline of {@code limits} passes first, and returns the most visited
+     * column. An immediate win is played without searching.
+     */
+    public synchronized int bestMove(SearchLimits limits, int playoutBudget) {
+        playouts = 0;
+        maxDepth = 0;
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            if (rootBoard.canPlay(col) && rootBoard.isWinningMove(col)) {
+                return col;
+            }
+        }
+
+        AtomicLong remaining = new AtomicLong(playoutBudget);
+        int helpers = threads - 1;
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<>(helpers);
+        for (int i = 0; i < helpers; i++) {
+            tasks.add(pool.submit(() -> work(remaining, limits)));
+        }
+
+        int[] own = work(remaining, limits);
+        long total = own[0];
+        int depth = own[1];
+        for (ForkJoinTask<int[]> task : tasks) {
+            int[] result = task.join();
+            total += result[0];
+            depth = Math.max(depth, result[1]);
+        }
+        playouts = total;
+        maxDepth = depth;
+
+        return mostVisited();
+    }
+
+    public synchronized SearchStatistics statistics() {
+        return new SearchStatistics(playouts, maxDepth, 0, 0, 0, 0);
+    }
+
+    /**
+     * Runs playouts until the shared budget or the deadline runs out and
+     * returns how many it ran and the deepest node it reached.
+     */
+    private int[] work(AtomicLong remaining, SearchLimits limits) {
+        Node[] path = new Node[Bitboard.CELLS + 1];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int done = 0;
+        int deepest = 0;
+
+        while (remaining.getAndDecrement() > 0 && (done == 0 || !limits.isExpired())) {
+            Bitboard board = rootBoard.copy();
+            Node node = root;
+            path[0] = root;
+            int depth = 0;
+
+            while (!node.winning && !node.full) {
+                Node child;
+                boolean unvisited;
+                synchronized (node) {
+                    if (node.children == null) {
+                        node.expand(board);
+                    }
+                    child = node.select();
+                    unvisited = child.visits == 0;
+                    child.visits++;
+                }
+                board.play(child.move);
+                path[++depth] = child;
+                node = child;
+                if (unvisited) {
+                    break;
+                }
+            }
+
+            double reward = node.winning ? 1.0 : node.full ? 0.5 : playout(board, random);
+            for (int i = depth; i > 0; i--) {
+                synchronized (path[i - 1]) {
+                    path[i].reward += reward;
+                }
+                reward = 1.0 - reward;
+            }
+
+            done++;
+            deepest = Math.max(deepest, depth);
+        }
+        return new int[] {done, deepest};
+    }
+
+    private int mostVisited() {
+        Node best = null;
+        synchronized (root) {
+            if (root.children == null) {
+                root.expand(rootBoard);
+            }
+            for (Node child : root.children) {
+                if (best == null || child.visits > best.visits) {
+                    best = child;
+                }
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("No valid moves available");
+        }
+        return best.move;
+    }
+
+    private static Node findDescendant(Node node, Bitboard board, long key, int plies) {
+        if (plies == 0) {
+            return board.key() == key ? node : null;
+        }
+
+        Node[] children;
+        synchronized (node) {
+            children = node.children;
+        }
+        if (children == null) {
+            return null;
+        }
+        for (Node child : children) {
+            if (child.winning || child.full) {
+                continue;
+            }
+            board.play(child.move);
+            Node found = findDescendant(child, board, key, plies - 1);
+            board.undo(child.move);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Plays the game out from {@code board} and returns 1 if the player who
+     * made the last move wins, 0 if they lose and 0.5 for a draw.
+     */
+    static double playout(Bitboard board, ThreadLocalRandom random) {
+        long position = board.currentStones();
+        long mask = board.mask();
+        int moves = board.moveCount();
+        boolean lastMoverToPlay = false;
+
+        while (moves < Bitboard.CELLS) {
+            long possible = Bitboard.possibleMoves(mask);
+            if ((Bitboard.winningCells(position, mask) & possible) != 0) {
+                return lastMoverToPlay ? 1.0 : 0.0;
+            }
+
+            long opponentWins = Bitboard.winningCells(position ^ mask, mask);
+            long candidates = possible & opponentWins;
+            if (candidates == 0) {
+                long safe = possible & ~(opponentWins >> 1);
+                candidates = safe != 0 ? safe : possible;
+            }
+
+            long move = randomBit(candidates, random);
+            position ^= mask;
+            mask |= move;
+            moves++;
+            lastMoverToPlay = !lastMoverToPlay;
+        }
+        return 0.5;
+    }
+
+    private static long randomBit(long bits, ThreadLocalRandom random) {
+        for (int skip = random.nextInt(Long.bitCount(bits)); skip > 0; skip--) {
+            bits &= bits - 1;
+        }
+        return Long.lowestOneBit(bits);
+    }
+
+    private static final class Node {
+        private final int move;
+        private final boolean winning;
+        private final boolean full;
+        private Node[] children;
+        private int visits;
+        private double reward;
+
+        Node(int move, boolean winning, boolean full) {
+            this.move = move;
+            this.winning = winning;
+            this.full = full;
+        }
+
+        /**
+         * Creates a child per playable column, in center-out order.
+         */
+        void expand(Bitboard board) {
+            List<Node> created = new ArrayList<>(Bitboard.WIDTH);
+            for (int col : Bitboard.CENTER_OUT_ORDER) {
+                if (board.canPlay(col)) {
+                    created.add(new Node(col, board.isWinningMove(col), board.moveCount() + 1 == Bitboard.CELLS));
+                }
+            }
+            children = created.toArray(new Node[0]);
+        }
+
+        /**
+         * First unvisited child, otherwise the highest UCT value. The
+         * children's visits and rewards are only updated under this node's
+         * monitor, which the caller holds.
+         */
+        Node select() {
+            int total = 0;
+            for (Node child : children) {
+                if (child.visits == 0) {
+                    return child;
+                }
+                total += child.visits;
+            }
+
+            double logTotal = Math.log(total);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logTotal / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+    }
+}
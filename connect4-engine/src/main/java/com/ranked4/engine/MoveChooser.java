@@ -0,0 +1,52 @@
+package com.ranked4.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks an AI move with nothing but the engine: a random move as often as
+ * the difficulty asks for one, otherwise a single-threaded alpha-beta search
+ * to the difficulty's depth. ai-service plays the levels below its shared
+ * table's minimum this way and game-service uses it to play in process, so
+ * both choose the same column for the same position.
+ * <p>
+ * The searches use no transposition table: entries left by earlier or
+ * concurrent searches can change the chosen move, and at these depths a
+ * search takes a few milliseconds without one.
+ */
+public final class MoveChooser {
+
+    private final RandomGenerator random;
+
+    public MoveChooser(RandomGenerator random) {
+        this.random = random;
+    }
+
+    public int chooseMove(Bitboard board, Difficulty level, Long timeBudgetMs) {
+        if (rollsRandomMove(level)) {
+            return randomMove(board);
+        }
+        return newSearch(board).bestMove(level.limits(timeBudgetMs));
+    }
+
+    public AlphaBetaSearch newSearch(Bitboard board) {
+        return new AlphaBetaSearch(board, null);
+    }
+
+    public boolean rollsRandomMove(Difficulty level) {
+        return random.nextInt(100) < level.getRandomMovePercent();
+    }
+
+    public int randomMove(Bitboard board) {
+        int[] validMoves = new int[Bitboard.WIDTH];
+        int count = 0;
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (board.canPlay(col)) {
+                validMoves[count++] = col;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalStateException("No valid moves available");
+        }
+        return validMoves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,132 @@
+package com.ranked4.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only opening book memory-mapped from the file written by
+ * {@code OpeningBookBuilder}.
+ * <p>
+ * Layout (big-endian): a header of magic, format version, maximum ply count,
+ * search depth and entry count, followed by fixed-size records of
+ * {@code (long key, byte move, byte depth, short score)} sorted by key, where
+ * key is {@link Bitboard#key()}. A depth of {@link #SOLVED_DEPTH} marks a move
+ * proven by the {@link Solver}, whose score is then the position's exact
+ * value; heuristic entries have a score of 0. Version 1 files, without the
+ * score, are still read. Lookups are a binary search over the records.
+ */
+public final class OpeningBook {
+
+    public static final int MAGIC = 0x52344F42;
+    public static final int VERSION = 2;
+    public static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+    public static final int RECORD_BYTES = 8 + 1 + 1 + 2;
+    public static final int SOLVED_DEPTH = 0;
+
+    private static final int V1_RECORD_BYTES = 8 + 1 + 1;
+    private static final OpeningBook EMPTY = new OpeningBook(null, RECORD_BYTES, 0, 0, 0);
+
+    private final ByteBuffer records;
+    private final int recordBytes;
+    private final int maxPlies;
+    private final int searchDepth;
+    private final int size;
+
+    private OpeningBook(ByteBuffer records, int recordBytes, int maxPlies, int searchDepth, int size) {
+        this.records = records;
+        this.recordBytes = recordBytes;
+        this.maxPlies = maxPlies;
+        this.searchDepth = searchDepth;
+        this.size = size;
+    }
+
+    public static OpeningBook empty() {
+        return EMPTY;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            int version = buffer.getInt(4);
+            int recordBytes = switch (version) {
+                case 1 -> V1_RECORD_BYTES;
+                case VERSION -> RECORD_BYTES;
+                default -> throw new IOException("Unsupported opening book version " + version + " in " + path);
+            };
+
+            int maxPlies = buffer.getInt(8);
+            int searchDepth = buffer.getInt(12);
+            long entries = buffer.getLong(16);
+            if (HEADER_BYTES + entries * recordBytes != buffer.limit()) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+
+            ByteBuffer records = buffer.slice(HEADER_BYTES, (int) (entries * recordBytes));
+            return new OpeningBook(records, recordBytes, maxPlies, searchDepth, (int) entries);
+        }
+    }
+
+    /**
+     * Returns the book move for the player to move, or -1 if the position is
+     * not in the book.
+     */
+    public int lookup(Bitboard board) {
+        Entry entry = lookupEntry(board);
+        return entry != null ? entry.move() : -1;
+    }
+
+    /**
+     * Returns the book entry for the position, or null if it is not in the
+     * book.
+     */
+    public Entry lookupEntry(Bitboard board) {
+        if (size == 0 || board.moveCount() > maxPlies) {
+            return null;
+        }
+
+        long key = board.key();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = mid * recordBytes;
+            long midKey = records.getLong(offset);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                int score = recordBytes == RECORD_BYTES ? records.getShort(offset + 10) : 0;
+                return new Entry(records.get(offset + 8), records.get(offset + 9), score);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int maxPlies() {
+        return maxPlies;
+    }
+
+    public int searchDepth() {
+        return searchDepth;
+    }
+
+    public record Entry(int move, int depth, int score) {
+
+        public boolean isSolved() {
+            return depth == SOLVED_DEPTH;
+        }
+    }
+}
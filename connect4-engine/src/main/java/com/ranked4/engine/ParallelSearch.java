@@ -0,0 +1,179 @@
+package com.ranked4.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterative deepening where each iteration splits the root moves across up
+ * to {@code threads} workers sharing one transposition table.
+ * <p>
+ * The first (best-ordered) root move is searched alone to get a bound, then
+ * the workers pull the remaining moves from a shared index. Every worker has
+ * its own board copy, killer and history tables. A move replaces the best one
+ * only if it scores higher, or the same from a column further left, so ties
+ * are broken the same way whichever worker finishes first. The scores
+ * themselves are not reproducible: workers cut off on each other's table
+ * entries as they appear, so the chosen column can depend on timing.
+ */
+public final class ParallelSearch {
+
+    private final Bitboard board;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final int threads;
+    private AlphaBetaSearch[] workers = new AlphaBetaSearch[0];
+    private int completedDepth;
+    private boolean bestMoveUnique;
+
+    public ParallelSearch(Bitboard board, TranspositionTable table, ForkJoinPool pool, int threads) {
+        this.board = board;
+        this.table = table;
+        this.pool = pool;
+        this.threads = Math.max(1, threads);
+    }
+
+    public int bestMove(SearchLimits limits) {
+        bestMoveUnique = false;
+        int forced = Tactics.forcedMove(board);
+        if (forced != Tactics.NO_MOVE) {
+            return forced;
+        }
+
+        int generation = table != null ? table.newSearch() : 0;
+        workers = new AlphaBetaSearch[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new AlphaBetaSearch(board.copy(), table);
+            workers[i].begin(limits, generation);
+        }
+
+        int[] moves = new int[Bitboard.WIDTH];
+        int bestMove = -1;
+        int previousBestMove = TranspositionTable.NO_MOVE;
+
+        for (int depth = 1; depth <= limits.maxDepth(); depth++) {
+            for (AlphaBetaSearch worker : workers) {
+                worker.beginIteration(depth);
+            }
+
+            int count = workers[0].orderRootMoves(previousBestMove, moves);
+            RootBest best = searchRoot(moves, count, depth);
+            if (best == null) {
+                break;
+            }
+
+            bestMove = best.move;
+            bestMoveUnique = !best.tied;
+            previousBestMove = best.move;
+            completedDepth = depth;
+            if (AlphaBetaSearch.isWin(best.score)) {
+                break;
+            }
+        }
+
+        if (bestMove == -1) {
+            throw new IllegalStateException("No valid moves available");
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Same as {@link AlphaBetaSearch#isBestMoveUnique()}.
+     */
+    public boolean isBestMoveUnique() {
+        return bestMoveUnique;
+    }
+
+    public int completedDepth() {
+        return completedDepth;
+    }
+
+    public long nodes() {
+        long nodes = 0;
+        for (AlphaBetaSearch worker : workers) {
+            nodes += worker.nodes();
+        }
+        return nodes;
+    }
+
+    public SearchStatistics statistics() {
+        SearchStatistics statistics = SearchStatistics.NONE;
+        for (AlphaBetaSearch worker : workers) {
+            SearchStatistics own = worker.statistics();
+            statistics = statistics.plus(new SearchStatistics(own.nodes(), completedDepth, own.tableProbes(),
+                    own.tableHits(), own.expandedNodes(), own.cutoffs()));
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the best root move of this iteration, or null if it was cut
+     * short by the deadline.
+     */
+    private RootBest searchRoot(int[] moves, int count, int depth) {
+        if (count == 0) {
+            return null;
+        }
+
+        AlphaBetaSearch main = workers[0];
+        RootBest best = new RootBest();
+        best.offer(moves[0], main.searchRootMove(moves[0], depth, -AlphaBetaSearch.INFINITY));
+        if (main.isAborted()) {
+            return null;
+        }
+
+        AtomicInteger next = new AtomicInteger(1);
+        int helpers = Math.min(threads, count - 1) - 1;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(Math.max(0, helpers));
+        for (int i = 1; i <= helpers; i++) {
+            AlphaBetaSearch worker = workers[i];
+            tasks.add(pool.submit(() -> searchRemaining(worker, moves, count, depth, next, best)));
+        }
+
+        searchRemaining(main, moves, count, depth, next, best);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        for (AlphaBetaSearch worker : workers) {
+            if (worker.isAborted()) {
+                return null;
+            }
+        }
+        return best;
+    }
+
+    private static void searchRemaining(AlphaBetaSearch worker, int[] moves, int count, int depth,
+            AtomicInteger next, RootBest best) {
+        int index;
+        while ((index = next.getAndIncrement()) < count) {
+            int col = moves[index];
+            int score = worker.searchRootMove(col, depth, best.alpha());
+            if (worker.isAborted()) {
+                return;
+            }
+            best.offer(col, score);
+        }
+    }
+
+    private static final class RootBest {
+        private int move = -1;
+        private int score = Integer.MIN_VALUE;
+        private boolean tied;
+
+        synchronized int alpha() {
+            return AlphaBetaSearch.rootAlpha(move, score);
+        }
+
+        synchronized void offer(int col, int candidateScore) {
+            tied = AlphaBetaSearch.isRootTie(candidateScore, move, score, tied);
+            if (AlphaBetaSearch.isBetterRootMove(col, candidateScore, move, score)) {
+                move = col;
+                score = candidateScore;
+            }
+        }
+    }
+}
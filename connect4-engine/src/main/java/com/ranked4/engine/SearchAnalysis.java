@@ -0,0 +1,14 @@
+package com.ranked4.engine;
+
+/**
+ * Scores of every root move of a position from the side to move's point of
+ * view, indexed by column, {@link #NO_SCORE} for full columns. Scores are
+ * {@link Solver} scores when {@code solved}, otherwise heuristic scores of
+ * {@link AlphaBetaSearch} at {@code depth}; the principal variation starts
+ * with {@code bestMove}.
+ */
+public record SearchAnalysis(int bestMove, int[] scores, GameValue[] values, int[] principalVariation, int depth,
+        boolean solved) {
+
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+}
@@ -0,0 +1,47 @@
+package com.ranked4.engine;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Depth cap, optional wall-clock deadline ({@link System#nanoTime()} based)
+ * and cancellation check for one iterative-deepening search. The check is
+ * polled with the deadline, so a cancelled search stops as if its time had
+ * run out.
+ */
+public record SearchLimits(int maxDepth, long deadlineNanos, boolean hasDeadline, BooleanSupplier cancelled) {
+
+    private static final BooleanSupplier NEVER = () -> false;
+
+    public static SearchLimits fixedDepth(int maxDepth) {
+        return new SearchLimits(maxDepth, 0L, false, NEVER);
+    }
+
+    public static SearchLimits withBudget(int maxDepth, long budgetMillis) {
+        return new SearchLimits(maxDepth, System.nanoTime() + budgetMillis * 1_000_000L, true, NEVER);
+    }
+
+    /**
+     * Same limits with the deadline brought forward to at most
+     * {@code budgetMillis} from now.
+     */
+    public SearchLimits capped(long budgetMillis) {
+        long capped = System.nanoTime() + budgetMillis * 1_000_000L;
+        if (hasDeadline && deadlineNanos - capped < 0) {
+            return this;
+        }
+        return new SearchLimits(maxDepth, capped, true, cancelled);
+    }
+
+    /**
+     * Same limits, also expired once {@code cancelled} returns true.
+     */
+    public SearchLimits cancelledWhen(BooleanSupplier cancelled) {
+        BooleanSupplier own = this.cancelled;
+        return new SearchLimits(maxDepth, deadlineNanos, hasDeadline,
+                own == NEVER ? cancelled : () -> own.getAsBoolean() || cancelled.getAsBoolean());
+    }
+
+    public boolean isExpired() {
+        return (hasDeadline && System.nanoTime() - deadlineNanos > 0) || cancelled.getAsBoolean();
+    }
+}
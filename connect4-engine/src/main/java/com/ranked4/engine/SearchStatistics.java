@@ -0,0 +1,29 @@
+package com.ranked4.engine;
+
+/**
+ * Work done by one search: nodes visited, deepest completed iteration,
+ * table probes and hits, and how many expanded nodes ended in a beta cutoff.
+ */
+public record SearchStatistics(long nodes, int depth, long tableProbes, long tableHits, long expandedNodes,
+        long cutoffs) {
+
+    public static final SearchStatistics NONE = new SearchStatistics(0, 0, 0, 0, 0, 0);
+
+    public double tableHitRate() {
+        return tableProbes == 0 ? 0.0 : (double) tableHits / tableProbes;
+    }
+
+    public double cutoffRate() {
+        return expandedNodes == 0 ? 0.0 : (double) cutoffs / expandedNodes;
+    }
+
+    /**
+     * Sums the counters of two searches of the same move, keeping the
+     * greater depth.
+     */
+    public SearchStatistics plus(SearchStatistics other) {
+        return new SearchStatistics(nodes + other.nodes, Math.max(depth, other.depth),
+                tableProbes + other.tableProbes, tableHits + other.tableHits,
+                expandedNodes + other.expandedNodes, cutoffs + other.cutoffs);
+    }
+}
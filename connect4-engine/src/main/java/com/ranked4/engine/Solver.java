@@ -0,0 +1,304 @@
+package com.ranked4.engine;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver: finds the game-theoretic value of a position and a move that
+ * keeps it.
+ * <p>
+ * A score is positive when the player to move wins, {@code (CELLS + 1 - n) / 2}
+ * for a win on the move played with {@code n} stones on the board, so faster
+ * wins score higher; negative scores mirror that for losses and 0 is a draw.
+ * The value is narrowed down with null-window negamax searches. Only moves
+ * that do not hand the opponent an immediate win are searched, ordered by how
+ * many winning cells they create, and bounds are kept in a shared
+ * {@link SolverTable}. Works on raw bitboards passed by value, so nothing is
+ * allocated per node. One instance per solve; the table may be shared.
+ */
+public final class Solver {
+
+    public static final int MIN_SCORE = -Bitboard.CELLS / 2 + 3;
+    public static final int MAX_SCORE = (Bitboard.CELLS + 1) / 2 - 3;
+    private static final int DEADLINE_CHECK_INTERVAL = 4095;
+
+    private final SolverTable table;
+    private final long[][] moveBuffers = new long[Bitboard.CELLS + 1][Bitboard.WIDTH];
+    private final int[][] scoreBuffers = new int[Bitboard.CELLS + 1][Bitboard.WIDTH];
+    private SearchLimits limits;
+    private boolean aborted;
+    private int emptyCells;
+    private long nodes;
+    private long tableProbes;
+    private long tableHits;
+    private long expandedNodes;
+    private long cutoffs;
+
+    public Solver(SolverTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Returns a move with the position's exact value, preferring central
+     * columns among equal ones, or null if the deadline of {@code limits}
+     * passed first.
+     */
+    public SolvedMove bestMove(Bitboard board, SearchLimits limits) {
+        this.limits = limits;
+        this.aborted = false;
+
+        int moves = board.moveCount();
+        this.emptyCells = Bitboard.CELLS - moves;
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            if (board.canPlay(col) && board.isWinningMove(col)) {
+                return new SolvedMove(col, (Bitboard.CELLS + 1 - moves) / 2);
+            }
+        }
+
+        long position = board.currentStones();
+        long mask = board.mask();
+        int value = solve(position, mask, moves);
+        if (aborted) {
+            return null;
+        }
+
+        long candidates = Tactics.nonLosingMoves(position, mask);
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            long move = candidates & Bitboard.columnMask(col);
+            if (move == 0) {
+                continue;
+            }
+            int score = -negamax(position ^ mask, mask | move, moves + 1, -value, -value + 1);
+            if (aborted) {
+                return null;
+            }
+            if (score >= value) {
+                return new SolvedMove(col, value);
+            }
+        }
+
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            if (board.canPlay(col)) {
+                return new SolvedMove(col, value);
+            }
+        }
+        throw new IllegalStateException("No valid moves available");
+    }
+
+    /**
+     * Exact score of every playable column, or null if the deadline of
+     * {@code limits} passed first. The best move is the highest score,
+     * central columns first among equal ones, and the principal variation
+     * follows moves that keep the value for as long as the deadline allows.
+     */
+    public SearchAnalysis analyze(Bitboard board, SearchLimits limits) {
+        this.limits = limits;
+        this.aborted = false;
+
+        int moves = board.moveCount();
+        int empty = Bitboard.CELLS - moves;
+        this.emptyCells = empty;
+        long position = board.currentStones();
+        long mask = board.mask();
+        int[] scores = new int[Bitboard.WIDTH];
+        Arrays.fill(scores, SearchAnalysis.NO_SCORE);
+        GameValue[] values = new GameValue[Bitboard.WIDTH];
+        int best = -1;
+
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            if (!board.canPlay(col)) {
+                continue;
+            }
+            scores[col] = scoreMove(board, position, mask, moves, col);
+            if (aborted) {
+                return null;
+            }
+            values[col] = GameValue.fromScore(scores[col], moves);
+            if (best == -1 || scores[col] > scores[best]) {
+                best = col;
+            }
+        }
+        if (best == -1) {
+            throw new IllegalStateException("No valid moves available");
+        }
+
+        int[] line = new int[empty];
+        int length = 0;
+        Bitboard next = board.copy();
+        for (int move = best; ; ) {
+            line[length++] = move;
+            next.play(move);
+            if (next.lastMoverWon() || next.isFull()) {
+                break;
+            }
+            SolvedMove reply = bestMove(next, limits);
+            if (reply == null) {
+                break;
+            }
+            move = reply.column();
+        }
+        this.emptyCells = empty;
+        return new SearchAnalysis(best, scores, values, Arrays.copyOf(line, length), empty, true);
+    }
+
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Counters of the last solve; its depth is the number of empty cells,
+     * since a solve always reaches the end of the game.
+     */
+    public SearchStatistics statistics() {
+        return new SearchStatistics(nodes, emptyCells, tableProbes, tableHits,
+                expandedNodes, cutoffs);
+    }
+
+    private int scoreMove(Bitboard board, long position, long mask, int moves, int col) {
+        if (board.isWinningMove(col)) {
+            return (Bitboard.CELLS + 1 - moves) / 2;
+        }
+
+        long childMask = mask | (Bitboard.possibleMoves(mask) & Bitboard.columnMask(col));
+        long childPosition = position ^ mask;
+        if (moves + 1 == Bitboard.CELLS) {
+            return 0;
+        }
+        if ((Bitboard.winningCells(childPosition, childMask) & Bitboard.possibleMoves(childMask)) != 0) {
+            return -((Bitboard.CELLS - moves) / 2);
+        }
+        return -solve(childPosition, childMask, moves + 1);
+    }
+
+    private int solve(long position, long mask, int moves) {
+        int min = -(Bitboard.CELLS - moves) / 2;
+        int max = (Bitboard.CELLS + 1 - moves) / 2;
+
+        while (min < max) {
+            int med = min + (max - min) / 2;
+            if (med <= 0 && min / 2 < med) {
+                med = min / 2;
+            } else if (med >= 0 && max / 2 > med) {
+                med = max / 2;
+            }
+
+            int score = negamax(position, mask, moves, med, med + 1);
+            if (aborted) {
+                return 0;
+            }
+            if (score <= med) {
+                max = score;
+            } else {
+                min = score;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Negamax for a position where the player to move cannot win at once.
+     * Returns the exact score when it lies in (alpha, beta), otherwise a bound
+     * on the same side of the window.
+     */
+    private int negamax(long position, long mask, int moves, int alpha, int beta) {
+        if ((++nodes & DEADLINE_CHECK_INTERVAL) == 0 && limits.isExpired()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long next = Tactics.nonLosingMoves(position, mask);
+        if (next == 0) {
+            return -(Bitboard.CELLS - moves) / 2;
+        }
+        if (moves >= Bitboard.CELLS - 2) {
+            return 0;
+        }
+
+        int min = -(Bitboard.CELLS - 2 - moves) / 2;
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+
+        int max = (Bitboard.CELLS - 1 - moves) / 2;
+        long key = position + mask;
+        int stored = table.get(key);
+        tableProbes++;
+        if (stored != 0) {
+            tableHits++;
+            if (stored > MAX_SCORE - MIN_SCORE + 1) {
+                min = stored + 2 * MIN_SCORE - MAX_SCORE - 2;
+                if (alpha < min) {
+                    alpha = min;
+                    if (alpha >= beta) {
+                        return alpha;
+                    }
+                }
+            } else {
+                max = stored + MIN_SCORE - 1;
+            }
+        }
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) {
+                return beta;
+            }
+        }
+
+        expandedNodes++;
+        int count = orderMoves(position, mask, moves, next);
+        long[] ordered = moveBuffers[moves];
+        for (int i = 0; i < count; i++) {
+            long move = ordered[i];
+            int score = -negamax(position ^ mask, mask | move, moves + 1, -beta, -alpha);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                cutoffs++;
+                table.put(key, score + MAX_SCORE - 2 * MIN_SCORE + 2);
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+            }
+        }
+
+        table.put(key, alpha - MIN_SCORE + 1);
+        return alpha;
+    }
+
+    /**
+     * Fills the move buffer for {@code moves} with the candidate moves, the
+     * ones creating the most winning cells first, ties in center-out order.
+     */
+    private int orderMoves(long position, long mask, int moves, long next) {
+        long[] ordered = moveBuffers[moves];
+        int[] scores = scoreBuffers[moves];
+        int count = 0;
+
+        for (int col : Bitboard.CENTER_OUT_ORDER) {
+            long move = next & Bitboard.columnMask(col);
+            if (move == 0) {
+                continue;
+            }
+
+            int score = Long.bitCount(Bitboard.winningCells(position | move, mask));
+            int i = count++;
+            while (i > 0 && scores[i - 1] < score) {
+                ordered[i] = ordered[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            ordered[i] = move;
+            scores[i] = score;
+        }
+        return count;
+    }
+
+    public record SolvedMove(int column, int score) {
+    }
+}
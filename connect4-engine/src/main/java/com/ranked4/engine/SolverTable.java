@@ -0,0 +1,36 @@
+package com.ranked4.engine;
+
+import java.util.Arrays;
+
+/**
+ * Transposition table of the {@link Solver}: one long per slot holding the
+ * 49-bit {@link Bitboard#key()} and an 8-bit bound, so a slot is always
+ * read and written as a whole by concurrent solves.
+ */
+public final class SolverTable {
+
+    private final long[] entries;
+    private final int shift;
+
+    public SolverTable(int log2Size) {
+        this.entries = new long[1 << log2Size];
+        this.shift = 64 - log2Size;
+    }
+
+    public int get(long key) {
+        long entry = entries[index(key)];
+        return (entry >>> 8) == key ? (int) (entry & 0xFF) : 0;
+    }
+
+    public void put(long key, int value) {
+        entries[index(key)] = (key << 8) | (value & 0xFF);
+    }
+
+    public void clear() {
+        Arrays.fill(entries, 0L);
+    }
+
+    private int index(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ranked4.engine;
+
+/**
+ * Tactics read straight off the bitboards, without a search: immediate
+ * wins, forced blocks, moves that hand the opponent a win and the odd/even
+ * rule for threats that wait until the columns fill up. Positions are given
+ * as the stones of the player to move and the mask of all stones, like in
+ * {@link Bitboard}.
+ */
+public final class Tactics {
+
+    public static final int NO_MOVE = -1;
+
+    /**
+     * Cells on the first, third and fifth rows from the bottom.
+     */
+    public static final long ODD_ROWS = Bitboard.BOTTOM_MASK * 0b010101;
+
+    /**
+     * Who the odd/even rule gives the game to once the board fills up.
+     */
+    public enum Zugzwang {
+        FIRST_PLAYER, SECOND_PLAYER, NONE
+    }
+
+    private Tactics() {
+    }
+
+    /**
+     * Playable cells where the player to move completes four in a row.
+     */
+    public static long winningMoves(long position, long mask) {
+        return Bitboard.winningCells(position, mask) & Bitboard.possibleMoves(mask);
+    }
+
+    /**
+     * Playable cells the player to move must take to stop the opponent
+     * winning on their next move.
+     */
+    public static long forcedBlocks(long position, long mask) {
+        return Bitboard.winningCells(position ^ mask, mask) & Bitboard.possibleMoves(mask);
+    }
+
+    /**
+     * Playable cells that neither leave an immediate opponent win unblocked
+     * nor sit right below a cell where the opponent would win. Empty when
+     * every move loses on the opponent's next move; meant for positions
+     * where the player to move cannot win at once.
+     */
+    public static long nonLosingMoves(long position, long mask) {
+        long possible = Bitboard.possibleMoves(mask);
+        long opponentWins = Bitboard.winningCells(position ^ mask, mask);
+        long forced = possible & opponentWins;
+        if (forced != 0) {
+            if ((forced & (forced - 1)) != 0) {
+                return 0;
+            }
+            possible = forced;
+        }
+        return possible & ~(opponentWins >> 1);
+    }
+
+    /**
+     * The move a search would be wasted on: an immediate win, else a block
+     * of the opponent's immediate win, else the only move that does not hand
+     * the opponent one. Among several wins the leftmost one, which is also
+     * the column a search picks among equal moves. When no block stops every
+     * opponent win, all moves lose alike and the leftmost playable column is
+     * returned. {@link #NO_MOVE} when the position needs a search.
+     */
+    public static int forcedMove(Bitboard board) {
+        long position = board.currentStones();
+        long mask = board.mask();
+
+        long wins = winningMoves(position, mask);
+        if (wins != 0) {
+            return column(Long.lowestOneBit(wins));
+        }
+
+        long safe = nonLosingMoves(position, mask);
+        if (forcedBlocks(position, mask) != 0) {
+            return column(Long.lowestOneBit(safe != 0 ? safe : Bitboard.possibleMoves(mask)));
+        }
+        if (safe != 0 && (safe & (safe - 1)) == 0) {
+            return column(safe);
+        }
+        return NO_MOVE;
+    }
+
+    /**
+     * Empty cells where {@code stones} would complete four in a row, whether
+     * or not they can be played yet.
+     */
+    public static long threats(long stones, long mask) {
+        return Bitboard.winningCells(stones, mask);
+    }
+
+    /**
+     * The cells of {@code threats} that are the lowest threat of either
+     * player in their column, so the first ones the column reaches as it
+     * fills. A threat above an opponent threat in the same column never
+     * comes into play.
+     */
+    public static long lowestThreats(long threats, long opponentThreats) {
+        long all = threats | opponentThreats;
+        long lowest = 0;
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            long column = all & Bitboard.columnMask(col);
+            lowest |= column & -column;
+        }
+        return lowest & threats;
+    }
+
+    /**
+     * The odd/even rule on the threats that come into play: when the board
+     * fills up, the first player gets the odd rows and the second player the
+     * even ones. The first player wins with an odd threat if the second
+     * player has no even threat, and the second player wins with an even
+     * threat if the first player has no odd threat. {@link Zugzwang#NONE}
+     * when neither or both hold one. Meant for positions with no immediate
+     * win or forced block.
+     */
+    public static Zugzwang zugzwang(Bitboard board) {
+        long mask = board.mask();
+        long first = (board.moveCount() & 1) == 0 ? board.currentStones() : board.opponentStones();
+        long firstThreats = threats(first, mask);
+        long secondThreats = threats(first ^ mask, mask);
+
+        boolean firstOdd = (lowestThreats(firstThreats, secondThreats) & ODD_ROWS) != 0;
+        boolean secondEven = (lowestThreats(secondThreats, firstThreats) & ~ODD_ROWS) != 0;
+        if (firstOdd != secondEven) {
+            return firstOdd ? Zugzwang.FIRST_PLAYER : Zugzwang.SECOND_PLAYER;
+        }
+        return Zugzwang.NONE;
+    }
+
+    /**
+     * Column of a single cell.
+     */
+    public static int column(long cell) {
+        return Long.numberOfTrailingZeros(cell) / Bitboard.H1;
+    }
+}
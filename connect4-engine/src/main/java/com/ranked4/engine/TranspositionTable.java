@@ -0,0 +1,140 @@
+package com.ranked4.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size, lock-free transposition table shared by every search.
+ * <p>
+ * Each slot is a pair of longs: the packed entry and the key XOR-ed with it.
+ * A reader only accepts a slot when both halves agree, so torn writes from
+ * concurrent searches are dropped instead of being misread. A slot is
+ * overwritten when it is empty, holds the same key, was written by an older
+ * search, or holds a shallower result.
+ * <p>
+ * Entries outlive the search that wrote them, so a search may cut off on a
+ * deeper result left by an earlier or concurrent one: its move can then
+ * depend on what else was searched. Within a single search the table never
+ * changes the move.
+ */
+public final class TranspositionTable {
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    public static final int NO_MOVE = -1;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int MATE_THRESHOLD = AlphaBetaSearch.MAX_SCORE / 2;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int indexMask;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    public TranspositionTable(int sizeMb) {
+        long requested = Math.max(1L, (long) sizeMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        int capacity = Integer.highestOneBit((int) Math.min(requested, 1 << 30));
+        this.keys = new long[capacity];
+        this.entries = new long[capacity];
+        this.indexMask = capacity - 1;
+    }
+
+    /**
+     * Starts a new search generation; entries from older generations become
+     * the first candidates for replacement.
+     */
+    public int newSearch() {
+        return generation.incrementAndGet() & 0xFF;
+    }
+
+    /**
+     * Returns the packed entry for {@code key}, or 0 when absent. Probes are
+     * counted by the search that makes them, not here, so the hot path
+     * writes nothing shared.
+     */
+    public long probe(long key) {
+        int index = (int) key & indexMask;
+        long entry = entries[index];
+        if (entry != 0 && (keys[index] ^ entry) == key) {
+            return entry;
+        }
+        return 0L;
+    }
+
+    public void store(long key, int depth, int score, int bound, int move, int searchGeneration) {
+        int index = (int) key & indexMask;
+        long current = entries[index];
+
+        if (current != 0
+                && (keys[index] ^ current) != key
+                && generation(current) == searchGeneration
+                && depth(current) > depth) {
+            return;
+        }
+
+        long entry = pack(toStored(score, depth), depth, bound, move, searchGeneration);
+        entries[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    public void clear() {
+        Arrays.fill(entries, 0L);
+        Arrays.fill(keys, 0L);
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public static int score(long entry, int depth) {
+        int stored = (int) entry;
+        if (stored > MATE_THRESHOLD) {
+            return stored + depth;
+        }
+        if (stored < -MATE_THRESHOLD) {
+            return stored - depth;
+        }
+        return stored;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 32) & 0x3F;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 38) & 0x3;
+    }
+
+    public static int move(long entry) {
+        return ((int) (entry >>> 40) & 0xF) - 1;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 44) & 0xFF;
+    }
+
+    /**
+     * Win scores encode the remaining depth at which the win was seen;
+     * storing them relative to the node keeps them valid when the same
+     * position is reached with a different remaining depth.
+     */
+    private static int toStored(int score, int depth) {
+        if (score > MATE_THRESHOLD) {
+            return score - depth;
+        }
+        if (score < -MATE_THRESHOLD) {
+            return score + depth;
+        }
+        return score;
+    }
+
+    private static long pack(int score, int depth, int bound, int move, int searchGeneration) {
+        return (score & 0xFFFFFFFFL)
+                | ((long) (depth & 0x3F) << 32)
+                | ((long) (bound & 0x3) << 38)
+                | ((long) ((move + 1) & 0xF) << 40)
+                | ((long) (searchGeneration & 0xFF) << 44);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ranked4.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ranked4.engine.RandomPositions.Position;
+
+/**
+ * The bitboard search must pick the move the original String-grid engine
+ * picked: same heuristic, same depth per difficulty, leftmost column among
+ * equal scores. Checked on a fixed corpus of seeded random positions.
+ */
+class AlphaBetaSearchTest {
+
+    private static final int POSITIONS = 120;
+    private static final int DEEP_POSITIONS = 8;
+
+    @Test
+    void matchesBaselineEngineAtEveryDifficulty() {
+        List<Position> corpus = RandomPositions.corpus(POSITIONS, 11L);
+
+        for (Difficulty level : Difficulty.values()) {
+            List<Position> positions = level == Difficulty.VERY_HARD ? corpus.subList(0, DEEP_POSITIONS) : corpus;
+            for (Position position : positions) {
+                int expected = BaselineEngine.bestMove(position.grid(), level.getMaxDepth(), position.sideToMove());
+                int actual = new AlphaBetaSearch(position.board(), null)
+                        .bestMove(SearchLimits.fixedDepth(level.getMaxDepth()));
+                assertEquals(expected, actual, () -> level + " at " + position.grid());
+            }
+        }
+    }
+
+    /**
+     * Within one search the table only holds results of the same iteration
+     * or shallower ones, so it prunes without changing the move. Entries
+     * left by other searches can: levels that share the table trade the
+     * guarantee for that reuse.
+     */
+    @Test
+    void freshTableKeepsTheBaselineMove() {
+        TranspositionTable table = new TranspositionTable(4);
+
+        for (Difficulty level : new Difficulty[] {Difficulty.HARD, Difficulty.VERY_HARD}) {
+            for (Position position : RandomPositions.corpus(POSITIONS, 23L)) {
+                SearchLimits limits = SearchLimits.fixedDepth(level.getMaxDepth());
+                int expected = new AlphaBetaSearch(position.board(), null).bestMove(limits);
+                table.clear();
+                int actual = new AlphaBetaSearch(position.board(), table).bestMove(limits);
+                assertEquals(expected, actual, () -> level + " at " + position.grid());
+            }
+        }
+    }
+
+    /**
+     * A best move is unique when no other column scores as high with a full
+     * window; only then must the mirrored position's search pick its mirror
+     * image, since ties go to the leftmost column.
+     */
+    @Test
+    void reportsWhetherTheBestMoveIsUnique() {
+        SearchLimits limits = SearchLimits.fixedDepth(Difficulty.HARD.getMaxDepth());
+        int unique = 0;
+        int tied = 0;
+
+        for (Position position : RandomPositions.corpus(400, 29L)) {
+            if (Tactics.forcedMove(position.board()) != Tactics.NO_MOVE) {
+                continue;
+            }
+            AlphaBetaSearch search = new AlphaBetaSearch(position.board(), null);
+            int move = search.bestMove(limits);
+            int[] scores = new AlphaBetaSearch(position.board(), null).analyze(limits).scores();
+
+            int best = 0;
+            for (int col = 0; col < Bitboard.WIDTH; col++) {
+                if (scores[col] == scores[move]) {
+                    best++;
+                }
+            }
+            assertEquals(best == 1, search.isBestMoveUnique(), () -> "at " + position.grid());
+
+            if (search.isBestMoveUnique()) {
+                unique++;
+                Bitboard mirrored = Bitboard.fromGrid(mirror(position.grid()), position.sideToMove());
+                assertEquals(Bitboard.WIDTH - 1 - move, new AlphaBetaSearch(mirrored, null).bestMove(limits),
+                        () -> "mirror of " + position.grid());
+            } else {
+                tied++;
+            }
+        }
+        assertTrue(unique > 10 && tied > 10, "corpus too one-sided: " + unique + " unique, " + tied + " tied");
+    }
+
+    private static String mirror(String grid) {
+        StringBuilder mirrored = new StringBuilder(grid.length());
+        for (int row = 0; row < Bitboard.HEIGHT; row++) {
+            mirrored.append(new StringBuilder(grid.substring(row * Bitboard.WIDTH, (row + 1) * Bitboard.WIDTH))
+                    .reverse());
+        }
+        return mirrored.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ranked4.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential test of {@link IncrementalEvaluator} against the String-grid
+ * heuristic the search used before the bitboard engine: random games with
+ * stones taken back now and then, both scores compared from each side's
+ * point of view after every move and take-back.
+ */
+class IncrementalEvaluatorTest {
+
+    private static final int GAMES = 2_000;
+
+    @Test
+    void matchesBaselineEvaluatorOverRandomMakeUnmake() {
+        SplittableRandom random = new SplittableRandom(42L);
+
+        for (int game = 0; game < GAMES; game++) {
+            Bitboard board = new Bitboard();
+            char[] grid = "0".repeat(Bitboard.CELLS).toCharArray();
+            IncrementalEvaluator first = new IncrementalEvaluator(0L, 0L);
+            IncrementalEvaluator second = new IncrementalEvaluator(0L, 0L);
+            int[] history = new int[Bitboard.CELLS];
+
+            while (!board.isFull()) {
+                if (board.moveCount() > 0 && random.nextInt(4) == 0) {
+                    int col = history[board.moveCount() - 1];
+                    board.undo(col);
+                    int square = landingSquare(board, col);
+                    boolean firstMoved = (board.moveCount() & 1) == 0;
+                    first.remove(square, firstMoved);
+                    second.remove(square, !firstMoved);
+                    BaselineEngine.undoMove(grid, col);
+                } else {
+                    int col = random.nextInt(Bitboard.WIDTH);
+                    if (!board.canPlay(col)) {
+                        continue;
+                    }
+                    int square = landingSquare(board, col);
+                    boolean firstMoves = (board.moveCount() & 1) == 0;
+                    first.add(square, firstMoves);
+                    second.add(square, !firstMoves);
+                    BaselineEngine.makeMove(grid, col, firstMoves ? 1 : 2);
+                    history[board.moveCount()] = col;
+                    board.play(col);
+                }
+
+                String position = new String(grid);
+                assertEquals(BaselineEngine.evaluatePosition(position, 1, 2), first.score(),
+                        () -> "first player's score at " + position);
+                assertEquals(BaselineEngine.evaluatePosition(position, 2, 1), second.score(),
+                        () -> "second player's score at " + position);
+            }
+        }
+    }
+
+    private static int landingSquare(Bitboard board, int col) {
+        return Long.numberOfTrailingZeros((board.mask() + Bitboard.bottomMask(col)) & Bitboard.columnMask(col));
+    }
+}
@@ -0,0 +1,54 @@
+package com.ranked4.engine;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The tree is kept when the game moves its root down by one or two plies
+ * through positions it has searched, and started again otherwise.
+ */
+class MonteCarloSearchTest {
+
+    private static final SearchLimits NO_DEADLINE = SearchLimits.fixedDepth(Bitboard.CELLS);
+    private static final int PLAYOUTS = 20_000;
+    private static final ForkJoinPool POOL = new ForkJoinPool(1);
+
+    @AfterAll
+    static void shutDown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void keepsTheTreeForTheRootAndUpToTwoPliesBelow() {
+        MonteCarloSearch search = searched();
+
+        assertTrue(search.advance(new Bitboard()));
+        assertTrue(search.advance(position(3)));
+        assertTrue(search.advance(position(3, 3, 3)));
+    }
+
+    @Test
+    void startsAgainThreePliesBelowOrOffTheTree() {
+        assertFalse(searched().advance(position(3, 3, 3)));
+        assertFalse(searched().advance(position(0, 0, 0, 0, 0, 0, 1)));
+    }
+
+    private static MonteCarloSearch searched() {
+        MonteCarloSearch search = new MonteCarloSearch(new Bitboard(), POOL, 1);
+        search.bestMove(NO_DEADLINE, PLAYOUTS);
+        return search;
+    }
+
+    private static Bitboard position(int... moves) {
+        Bitboard board = new Bitboard();
+        for (int col : moves) {
+            board.play(col);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ranked4.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded corpora of positions reached by random legal moves that never
+ * complete a line, so the game is still on and the side to move has a
+ * choice. Each position comes with its API grid for {@link BaselineEngine}.
+ */
+final class RandomPositions {
+
+    static List<Position> corpus(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Position> positions = new ArrayList<>(size);
+
+        while (positions.size() < size) {
+            Bitboard board = new Bitboard();
+            char[] grid = "0".repeat(Bitboard.CELLS).toCharArray();
+            int plies = random.nextInt(Bitboard.CELLS - 6);
+            int attempts = 0;
+            while (board.moveCount() < plies && attempts++ < 1000) {
+                int col = random.nextInt(Bitboard.WIDTH);
+                if (!board.canPlay(col) || board.isWinningMove(col)) {
+                    continue;
+                }
+                BaselineEngine.makeMove(grid, col, (board.moveCount() & 1) == 0 ? 1 : 2);
+                board.play(col);
+            }
+            if (board.moveCount() == plies) {
+                positions.add(new Position(board, new String(grid), (plies & 1) == 0 ? 1 : 2));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * A corpus position; {@link #board()} hands out a fresh copy each time.
+     */
+    record Position(Bitboard board, String grid, int sideToMove) {
+
+        @Override
+        public Bitboard board() {
+            return board.copy();
+        }
+    }
+
+    private RandomPositions() {
+    }
+}
@@ -0,0 +1,152 @@
+package com.ranked4.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ranked4.engine.RandomPositions.Position;
+
+/**
+ * Solver values against hand-solved positions and against a plain
+ * brute-force negamax on random endgames, where the whole tree is small
+ * enough to walk. Grids are written top row first, as the API sends them.
+ */
+class SolverTest {
+
+    private static final int ENDGAME_MOVES = 24;
+    private static final SearchLimits NO_DEADLINE = SearchLimits.fixedDepth(Bitboard.CELLS);
+
+    @Test
+    void scoresAnImmediateWinByTheStonesLeft() {
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "0222000",
+                "0111000");
+
+        Solver.SolvedMove solved = new Solver(new SolverTable(10)).bestMove(board, NO_DEADLINE);
+
+        assertEquals((Bitboard.CELLS + 1 - 6) / 2, solved.score());
+        assertTrue(solved.column() == 0 || solved.column() == 4);
+    }
+
+    @Test
+    void scoresALostPositionByTheOpponentsWin() {
+        Bitboard board = position(2,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "0022000",
+                "0111000");
+
+        Solver.SolvedMove solved = new Solver(new SolverTable(10)).bestMove(board, NO_DEADLINE);
+
+        assertEquals(-(Bitboard.CELLS - 5) / 2, solved.score());
+        assertEquals(new GameValue(GameValue.Outcome.LOSS, 2), GameValue.fromScore(solved.score(), 5));
+    }
+
+    @Test
+    void stopsOnceCancelled() {
+        Solver solver = new Solver(new SolverTable(10));
+
+        assertNull(solver.bestMove(new Bitboard(), NO_DEADLINE.cancelledWhen(() -> true)));
+        assertTrue(solver.nodes() <= 4096, "searched on after the cancel: " + solver.nodes());
+    }
+
+    @Test
+    void bestMoveMatchesBruteForceOnEndgames() {
+        Solver solver = new Solver(new SolverTable(16));
+        int checked = 0;
+
+        for (Position position : endgames()) {
+            Bitboard board = position.board();
+            Solver.SolvedMove solved = solver.bestMove(board, NO_DEADLINE);
+
+            assertEquals(negamax(board), solved.score(), () -> "value at " + position.grid());
+            assertEquals(solved.score(), moveScore(board, solved.column()),
+                    () -> "column " + solved.column() + " does not keep the value at " + position.grid());
+            checked++;
+        }
+        assertTrue(checked > 50, "too few endgames: " + checked);
+    }
+
+    @Test
+    void analysisScoresEveryColumnExactly() {
+        Solver solver = new Solver(new SolverTable(16));
+
+        for (Position position : endgames().subList(0, 30)) {
+            Bitboard board = position.board();
+            SearchAnalysis analysis = solver.analyze(board, NO_DEADLINE);
+
+            for (int col = 0; col < Bitboard.WIDTH; col++) {
+                int column = col;
+                int expected = board.canPlay(col) ? moveScore(board, col) : SearchAnalysis.NO_SCORE;
+                assertEquals(expected, analysis.scores()[col], () -> "column " + column + " at " + position.grid());
+            }
+            assertEquals(negamax(board), analysis.scores()[analysis.bestMove()]);
+        }
+    }
+
+    private static List<Position> endgames() {
+        return RandomPositions.corpus(800, 3L).stream()
+                .filter(position -> position.board().moveCount() >= ENDGAME_MOVES)
+                .toList();
+    }
+
+    /**
+     * Score of playing {@code col}, from the side to move.
+     */
+    private static int moveScore(Bitboard board, int col) {
+        if (board.isWinningMove(col)) {
+            return (Bitboard.CELLS + 1 - board.moveCount()) / 2;
+        }
+        Bitboard next = board.copy();
+        next.play(col);
+        return -negamax(next);
+    }
+
+    /**
+     * Exact value by full-width alpha-beta with no table and no move
+     * filtering.
+     */
+    private static int negamax(Bitboard board) {
+        return negamax(board, -Bitboard.CELLS, Bitboard.CELLS);
+    }
+
+    private static int negamax(Bitboard board, int alpha, int beta) {
+        if (board.isFull()) {
+            return 0;
+        }
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (board.canPlay(col) && board.isWinningMove(col)) {
+                return (Bitboard.CELLS + 1 - board.moveCount()) / 2;
+            }
+        }
+
+        int best = -Bitboard.CELLS;
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if (!board.canPlay(col)) {
+                continue;
+            }
+            Bitboard next = board.copy();
+            next.play(col);
+            best = Math.max(best, -negamax(next, -beta, -alpha));
+            alpha = Math.max(alpha, best);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    private static Bitboard position(int playerToMove, String... rows) {
+        return Bitboard.fromGrid(String.join("", rows), playerToMove);
+    }
+}
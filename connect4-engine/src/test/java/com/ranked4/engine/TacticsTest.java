@@ -0,0 +1,228 @@
+package com.ranked4.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.ranked4.engine.RandomPositions.Position;
+
+/**
+ * Forced moves, non-losing moves and odd/even threats on hand-built threat
+ * positions, and the first two against brute force and the original engine
+ * on a random corpus. Grids are
+ * written top row first, as the API sends them.
+ */
+class TacticsTest {
+
+    @Test
+    void playsTheLeftmostImmediateWin() {
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "0222000",
+                "0111000");
+
+        assertEquals(columns(0, 4), byColumn(Tactics.winningMoves(board.currentStones(), board.mask())));
+        assertEquals(0, Tactics.forcedMove(board));
+    }
+
+    @Test
+    void blocksTheOpponentsOnlyThreat() {
+        Bitboard board = position(2,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "1110220");
+
+        assertEquals(columns(3), byColumn(Tactics.forcedBlocks(board.currentStones(), board.mask())));
+        assertEquals(columns(3), byColumn(Tactics.nonLosingMoves(board.currentStones(), board.mask())));
+        assertEquals(3, Tactics.forcedMove(board));
+    }
+
+    @Test
+    void playsTheLeftmostColumnWhenTheBlockStillLoses() {
+        // Blocking in column 3 lets the opponent win on top of the block, so every move loses next turn
+        Bitboard board = position(2,
+                "1010101",
+                "2020222",
+                "1020221",
+                "2110112",
+                "1210112",
+                "2122112");
+
+        assertEquals(columns(3), byColumn(Tactics.forcedBlocks(board.currentStones(), board.mask())));
+        assertEquals(0L, byColumn(Tactics.nonLosingMoves(board.currentStones(), board.mask())));
+        assertEquals(1, Tactics.forcedMove(board));
+    }
+
+    @Test
+    void playsTheLeftmostColumnAgainstTwoThreats() {
+        Bitboard board = position(2,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "0022000",
+                "0111000");
+
+        assertEquals(columns(0, 4), byColumn(Tactics.forcedBlocks(board.currentStones(), board.mask())));
+        assertEquals(0L, byColumn(Tactics.nonLosingMoves(board.currentStones(), board.mask())));
+        assertEquals(0, Tactics.forcedMove(board));
+    }
+
+    @Test
+    void avoidsPlayingBelowAnOpponentWin() {
+        Bitboard board = position(2,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "1110000",
+                "2210002");
+
+        assertEquals(columns(0, 1, 2, 4, 5, 6), byColumn(Tactics.nonLosingMoves(board.currentStones(), board.mask())));
+        assertEquals(Tactics.NO_MOVE, Tactics.forcedMove(board));
+    }
+
+    @Test
+    void givesTheFillUpToAnOddThreatOfTheFirstPlayer() {
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0000000",
+                "1110000",
+                "2210000",
+                "1220002");
+
+        long threats = Tactics.threats(board.currentStones(), board.mask());
+        assertEquals(Bitboard.cellBit(3, 2), threats);
+        assertEquals(threats, threats & Tactics.ODD_ROWS);
+        assertEquals(Tactics.Zugzwang.FIRST_PLAYER, Tactics.zugzwang(board));
+    }
+
+    @Test
+    void givesTheFillUpToAnEvenThreatOfTheSecondPlayer() {
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0000000",
+                "0000000",
+                "2220000",
+                "1120011");
+
+        long threats = Tactics.threats(board.opponentStones(), board.mask());
+        assertEquals(Bitboard.cellBit(3, 1), threats);
+        assertEquals(0L, threats & Tactics.ODD_ROWS);
+        assertEquals(Tactics.Zugzwang.SECOND_PLAYER, Tactics.zugzwang(board));
+    }
+
+    @Test
+    void ignoresAThreatAboveTheOpponentsThreat() {
+        // The first player's odd threat in column 3 sits right above the second player's even one
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0000000",
+                "1110000",
+                "2220000",
+                "1120002");
+
+        long first = Tactics.threats(board.currentStones(), board.mask());
+        long second = Tactics.threats(board.opponentStones(), board.mask());
+        assertEquals(Bitboard.cellBit(3, 2), first);
+        assertEquals(Bitboard.cellBit(3, 1), second);
+        assertEquals(0L, Tactics.lowestThreats(first, second));
+        assertEquals(Tactics.Zugzwang.SECOND_PLAYER, Tactics.zugzwang(board));
+    }
+
+    @Test
+    void findsNoZugzwangWithoutThreatsOrWithBothKinds() {
+        assertEquals(Tactics.Zugzwang.NONE, Tactics.zugzwang(new Bitboard()));
+
+        // An odd threat of the first player in column 2, an even one of the second player in column 4
+        Bitboard board = position(1,
+                "0000000",
+                "0000000",
+                "0001000",
+                "0001000",
+                "2102022",
+                "1102021");
+        assertEquals(Tactics.Zugzwang.NONE, Tactics.zugzwang(board));
+    }
+
+    @Test
+    void nonLosingMovesMatchBruteForce() {
+        for (Position position : RandomPositions.corpus(2_000, 5L)) {
+            Bitboard board = position.board();
+            if (Tactics.winningMoves(board.currentStones(), board.mask()) != 0) {
+                continue;
+            }
+
+            long expected = 0;
+            for (int col = 0; col < Bitboard.WIDTH; col++) {
+                if (board.canPlay(col) && !handsOpponentAWin(board, col)) {
+                    expected |= columns(col);
+                }
+            }
+            long actual = byColumn(Tactics.nonLosingMoves(board.currentStones(), board.mask()));
+            assertEquals(expected, actual, () -> "at " + position.grid());
+        }
+    }
+
+    @Test
+    void forcedMovesAreWhatTheBaselineEngineSearches() {
+        int forced = 0;
+        for (Position position : RandomPositions.corpus(2_000, 17L)) {
+            int move = Tactics.forcedMove(position.board());
+            if (move == Tactics.NO_MOVE) {
+                continue;
+            }
+            forced++;
+            int expected = BaselineEngine.bestMove(position.grid(), Difficulty.EASY.getMaxDepth(),
+                    position.sideToMove());
+            assertEquals(expected, move, () -> "at " + position.grid());
+        }
+        assertTrue(forced > 100, "corpus has too few forced positions: " + forced);
+    }
+
+    private static boolean handsOpponentAWin(Bitboard board, int col) {
+        Bitboard next = board.copy();
+        next.play(col);
+        for (int reply = 0; reply < Bitboard.WIDTH; reply++) {
+            if (next.canPlay(reply) && next.isWinningMove(reply)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long columns(int... cols) {
+        long bits = 0;
+        for (int col : cols) {
+            bits |= Bitboard.columnMask(col);
+        }
+        return bits;
+    }
+
+    /**
+     * The tactics report landing cells; the tests compare whole columns.
+     */
+    private static long byColumn(long cells) {
+        long bits = 0;
+        for (int col = 0; col < Bitboard.WIDTH; col++) {
+            if ((cells & Bitboard.columnMask(col)) != 0) {
+                bits |= Bitboard.columnMask(col);
+            }
+        }
+        return bits;
+    }
+
+    private static Bitboard position(int playerToMove, String... rows) {
+        return Bitboard.fromGrid(String.join("", rows), playerToMove);
+    }
+}
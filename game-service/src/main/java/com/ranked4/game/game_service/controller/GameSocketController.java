@@ -1,7 +1,5 @@
 package com.ranked4.game.game_service.controller;
 
-import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -13,12 +11,12 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import com.ranked4.game.game_service.dto.GameUpdateDTO;
-import com.ranked4.game.game_service.dto.PlayerInfoDTO;
 import com.ranked4.game.game_service.dto.PlayerJoinDTO;
 import com.ranked4.game.game_service.dto.PlayerMoveDTO;
 import com.ranked4.game.game_service.model.Game;
 import com.ranked4.game.game_service.model.GameStatus;
 import com.ranked4.game.game_service.model.GameType;
+import com.ranked4.game.game_service.service.AiTurnScheduler;
 import com.ranked4.game.game_service.service.GameService;
 import com.ranked4.game.game_service.util.GameSessionRegistry;
 
@@ -30,12 +28,14 @@ public class GameSocketController {
     private final GameService gameService;
     private final SimpMessagingTemplate messagingTemplate;
     private final GameSessionRegistry gameSessionRegistry;
+    private final AiTurnScheduler aiTurnScheduler;
 
     public GameSocketController(GameService gameService, SimpMessagingTemplate messagingTemplate,
-            GameSessionRegistry gameSessionRegistry) {
+            GameSessionRegistry gameSessionRegistry, AiTurnScheduler aiTurnScheduler) {
         this.gameService = gameService;
         this.messagingTemplate = messagingTemplate;
         this.gameSessionRegistry = gameSessionRegistry;
+        this.aiTurnScheduler = aiTurnScheduler;
     }
 
     @MessageMapping("/game.move/{gameId}")
@@ -47,26 +47,17 @@ public class GameSocketController {
                     gameId,
                     move.playerId(),
                     move.column());
-            gameUpdate = createGameUpdateDTO(game);
+            gameUpdate = gameService.createGameUpdateDTO(game);
 
             String destination = "/topic/game/" + gameId;
             messagingTemplate.convertAndSend(destination, gameUpdate);
 
             if (game.getGameType() == GameType.PVE && game.getStatus() == GameStatus.IN_PROGRESS) {
-                try {
-                    Thread.sleep(500);
-                    game = gameService.applyAiMove(gameId);
-                    gameUpdate = createGameUpdateDTO(game);
-                    messagingTemplate.convertAndSend(destination, gameUpdate);
-                } catch (Exception aiException) {
-                    log.error("Error applying AI move for game {}", gameId, aiException);
-                    gameUpdate = createGameUpdateDTO(game).withError("AI move failed: " + aiException.getMessage());
-                    messagingTemplate.convertAndSend(destination, gameUpdate);
-                }
+                aiTurnScheduler.scheduleAiTurn(gameId);
             }
         } catch (IllegalStateException e) {
-            game = gameService.getGameState(gameId);
-            gameUpdate = createGameUpdateDTO(game).withError(e.getMessage());
+            game = gameService.getGameSnapshot(gameId);
+            gameUpdate = gameService.createGameUpdateDTO(game).withError(e.getMessage());
             String destination = "/topic/game/" + gameId;
             messagingTemplate.convertAndSend(destination, gameUpdate);
         }
@@ -82,8 +73,8 @@ public class GameSocketController {
 
         gameSessionRegistry.registerSession(sessionId, gameId, playerId);
 
-        Game currentGame = gameService.getGameState(gameId);
-        GameUpdateDTO gameUpdate = createGameUpdateDTO(currentGame);
+        Game currentGame = gameService.getGameSnapshot(gameId);
+        GameUpdateDTO gameUpdate = gameService.createGameUpdateDTO(currentGame);
 
         String destination = "/topic/game/" + gameId;
         messagingTemplate.convertAndSend(destination, gameUpdate);
@@ -93,35 +84,10 @@ public class GameSocketController {
                 currentGame.isAiOpponent(currentGame.getNextPlayerId())) {
 
             log.info("AI's turn detected in PVE game {}, triggering AI move", gameId);
-
-            try {
-                Thread.sleep(500);
-                Game updatedGame = gameService.applyAiMove(gameId);
-                GameUpdateDTO aiMoveUpdate = createGameUpdateDTO(updatedGame);
-                messagingTemplate.convertAndSend(destination, aiMoveUpdate);
-            } catch (Exception aiException) {
-                log.error("Error applying initial AI move for game {}", gameId, aiException);
-                gameUpdate = createGameUpdateDTO(currentGame).withError("AI move failed: " + aiException.getMessage());
-                messagingTemplate.convertAndSend(destination, gameUpdate);
-            }
+            aiTurnScheduler.scheduleAiTurn(gameId);
         }
     }
 
-    private GameUpdateDTO createGameUpdateDTO(Game game) {
-        Set<UUID> playerIds = Set.of(game.getPlayerOneId(), game.getPlayerTwoId());
-        Map<UUID, PlayerInfoDTO> infoMap = gameService.getPlayerInfoMap(playerIds);
-
-        PlayerInfoDTO p1Info = infoMap.get(game.getPlayerOneId());
-        PlayerInfoDTO p2Info = infoMap.get(game.getPlayerTwoId());
-
-        if (p1Info == null)
-            p1Info = new PlayerInfoDTO(game.getPlayerOneId(), "Unknown", null, 0, null);
-        if (p2Info == null)
-            p2Info = new PlayerInfoDTO(game.getPlayerTwoId(), "Unknown", null, 0, null);
-
-        return new GameUpdateDTO(game, p1Info, p2Info);
-    }
-
     @MessageMapping("/lobby.register")
     public void registerLobbyPresence(PlayerJoinDTO joinMessage, SimpMessageHeaderAccessor headerAccessor) {
         String sessionId = headerAccessor.getSessionId();
@@ -135,10 +101,13 @@ public class GameSocketController {
         gameSessionRegistry.registerLobbySession(sessionId, playerId);
     }
 
-    public void broadcastGameUpdate(UUID gameId) {
+    /**
+     * Broadcasts a snapshot of the game taken on its mailbox.
+     */
+    public void broadcastGameUpdate(Game game) {
+        UUID gameId = game.getGameId();
         try {
-            Game game = gameService.getGameState(gameId);
-            GameUpdateDTO gameUpdate = createGameUpdateDTO(game);
+            GameUpdateDTO gameUpdate = gameService.createGameUpdateDTO(game);
             String destination = "/topic/game/" + gameId;
             messagingTemplate.convertAndSend(destination, gameUpdate);
             log.info("Broadcasted game update for game {}", gameId);
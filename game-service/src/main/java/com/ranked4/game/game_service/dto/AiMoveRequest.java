@@ -1,7 +1,10 @@
 package com.ranked4.game.game_service.dto;
 
+import java.util.UUID;
+
 public record AiMoveRequest(
     String grid,
     int difficulty,
-    int aiPlayerId
+    int aiPlayerId,
+    UUID gameId
 ) {}
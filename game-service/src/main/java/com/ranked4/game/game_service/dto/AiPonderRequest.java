@@ -0,0 +1,10 @@
+package com.ranked4.game.game_service.dto;
+
+import java.util.UUID;
+
+public record AiPonderRequest(
+    UUID gameId,
+    String grid,
+    int difficulty,
+    int aiPlayerId
+) {}
@@ -4,6 +4,8 @@ import java.time.Instant;
 import java.util.Random;
 import java.util.UUID;
 
+import com.ranked4.game.game_service.dto.PlayerInfoDTO;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -63,6 +65,12 @@ public class Game {
     @Transient
     private GameBoard gameLogic = new GameBoard();
 
+    @Transient
+    private PlayerInfoDTO playerOneInfo;
+
+    @Transient
+    private PlayerInfoDTO playerTwoInfo;
+
     @PostLoad
     private void initializeLogicAfterLoad() {
         if (this.gameLogic == null) {
@@ -82,6 +90,7 @@ public class Game {
 
         this.gameLogic = new GameBoard();
         this.boardState = this.gameLogic.serializeGrid();
+        this.gameLogic.deserializeGrid(this.boardState, this.nextPlayer);
         this.turnStartTime = Instant.now();
     }
 
@@ -126,6 +135,59 @@ public class Game {
         this.gameLogic.setWinner(this.winner);
     }
 
+    /**
+     * Replaces the snapshot of whichever player {@code info} belongs to.
+     * Returns false if that player is not in this game.
+     */
+    public boolean updatePlayerInfo(PlayerInfoDTO info) {
+        if (info.userId().equals(playerOneId)) {
+            this.playerOneInfo = info;
+            return true;
+        }
+        if (info.userId().equals(playerTwoId)) {
+            this.playerTwoInfo = info;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sets the info of whichever player {@code info} belongs to, unless that
+     * player already has some.
+     */
+    public void fillPlayerInfo(PlayerInfoDTO info) {
+        if (info.userId().equals(playerOneId) && playerOneInfo == null) {
+            this.playerOneInfo = info;
+        } else if (info.userId().equals(playerTwoId) && playerTwoInfo == null) {
+            this.playerTwoInfo = info;
+        }
+    }
+
+    /**
+     * A copy of the persisted state and of the player info, without the
+     * board logic. Taken on the game's mailbox, it shows one ply throughout.
+     */
+    public Game snapshot() {
+        Game copy = new Game();
+        copy.gameId = gameId;
+        copy.playerOneId = playerOneId;
+        copy.playerTwoId = playerTwoId;
+        copy.status = status;
+        copy.boardState = boardState;
+        copy.nextPlayer = nextPlayer;
+        copy.winner = winner;
+        copy.createdAt = createdAt;
+        copy.finishedAt = finishedAt;
+        copy.ranked = ranked;
+        copy.origin = origin;
+        copy.gameType = gameType;
+        copy.aiDifficulty = aiDifficulty;
+        copy.turnStartTime = turnStartTime;
+        copy.playerOneInfo = playerOneInfo;
+        copy.playerTwoInfo = playerTwoInfo;
+        return copy;
+    }
+
     public UUID getGameId() {
         return gameId;
     }
@@ -214,6 +276,22 @@ public class Game {
         this.origin = origin;
     }
 
+    public PlayerInfoDTO getPlayerOneInfo() {
+        return playerOneInfo;
+    }
+
+    public void setPlayerOneInfo(PlayerInfoDTO playerOneInfo) {
+        this.playerOneInfo = playerOneInfo;
+    }
+
+    public PlayerInfoDTO getPlayerTwoInfo() {
+        return playerTwoInfo;
+    }
+
+    public void setPlayerTwoInfo(PlayerInfoDTO playerTwoInfo) {
+        this.playerTwoInfo = playerTwoInfo;
+    }
+
     public GameBoard getGameLogic() {
         return gameLogic;
     }
@@ -12,15 +12,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.ranked4.game.game_service.model.Game;
 import com.ranked4.game.game_service.repository.GameRepository;
+import com.ranked4.game.game_service.service.LiveGameStore;
 
 @Component
 public class GameCleanupScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(GameCleanupScheduler.class);
     private final GameRepository gameRepository;
+    private final LiveGameStore liveGames;
 
-    public GameCleanupScheduler(GameRepository gameRepository) {
+    public GameCleanupScheduler(GameRepository gameRepository, LiveGameStore liveGames) {
         this.gameRepository = gameRepository;
+        this.liveGames = liveGames;
     }
 
     @Scheduled(cron = "0 0 * * * *")
@@ -33,6 +36,7 @@ public class GameCleanupScheduler {
         if (!buggedGames.isEmpty()) {
             log.warn("Suppression de {} parties buguées (créées avant {} et jamais terminées)",
                     buggedGames.size(), threshold);
+            buggedGames.forEach(game -> liveGames.evict(game.getGameId()));
             gameRepository.deleteAll(buggedGames);
             log.info("Nettoyage terminé : {} parties supprimées", buggedGames.size());
         } else {
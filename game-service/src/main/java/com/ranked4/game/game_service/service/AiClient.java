@@ -0,0 +1,102 @@
+package com.ranked4.game.game_service.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ranked4.game.game_service.dto.AiMoveRequest;
+import com.ranked4.game.game_service.dto.AiMoveResponse;
+import com.ranked4.game.game_service.dto.AiPonderRequest;
+
+/**
+ * Non-blocking client for ai-service: every call returns at once and
+ * completes on the HTTP client's virtual threads.
+ */
+@Component
+public class AiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AiClient.class);
+
+    private final String aiServiceUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public AiClient(ObjectMapper objectMapper,
+            @Value("${ai.service.url:http://ai-service:8080}") String aiServiceUrl,
+            @Value("${ai.service.timeout-ms:5000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.aiServiceUrl = aiServiceUrl;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public CompletableFuture<AiMoveResponse> nextMove(AiMoveRequest request) {
+        return httpClient.sendAsync(post("/api/ai/next-move", request), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("AI service returned status " + response.statusCode());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), AiMoveResponse.class);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Lets ai-service search the human's possible replies while they think.
+     * Best effort: the next AI move is searched normally if this fails.
+     */
+    public void ponder(AiPonderRequest request) {
+        httpClient.sendAsync(post("/api/ai/ponder", request), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.debug("AI ponder not started for game {}: {}", request.gameId(), error.getMessage());
+                    }
+                });
+    }
+
+    public void cancelPonder(UUID gameId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(aiServiceUrl + "/api/ai/ponder/" + gameId))
+                .timeout(timeout)
+                .DELETE()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.debug("AI ponder not cancelled for game {}: {}", gameId, error.getMessage());
+                    }
+                });
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(aiServiceUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize AI request", e);
+        }
+    }
+}
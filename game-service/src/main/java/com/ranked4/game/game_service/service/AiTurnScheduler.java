@@ -0,0 +1,202 @@
+package com.ranked4.game.game_service.service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ranked4.game.game_service.dto.AiMoveRequest;
+import com.ranked4.game.game_service.dto.AiMoveResponse;
+import com.ranked4.game.game_service.dto.AiPonderRequest;
+import com.ranked4.game.game_service.dto.GifReactionEvent;
+import com.ranked4.game.game_service.model.Game;
+import com.ranked4.game.game_service.model.GameStatus;
+import com.ranked4.game.game_service.model.GameType;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Plays AI turns without holding the caller's thread: the pause before the
+ * move and the taunt before a winning move are timer events, the move comes
+ * from {@link AiClient} or, for the easy levels, from {@link LocalAiService}
+ * on a virtual thread, and the move is applied on the game's mailbox once
+ * it arrives, only if the board is still the one it was searched on.
+ */
+@Service
+public class AiTurnScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTurnScheduler.class);
+
+    private final GameService gameService;
+    private final AiClient aiClient;
+    private final LocalAiService localAiService;
+    private final GifService gifService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int localAiMaxDifficulty;
+    private final boolean localAiFallback;
+    private final long turnDelayMs;
+    private final long tauntDelayMs;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ai-turn-timer").daemon().factory());
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AiTurnScheduler(GameService gameService, AiClient aiClient, LocalAiService localAiService,
+            GifService gifService, SimpMessagingTemplate messagingTemplate,
+            @Value("${ai.local.max-difficulty:2}") int localAiMaxDifficulty,
+            @Value("${ai.local.fallback:true}") boolean localAiFallback,
+            @Value("${ai.turn.delay-ms:500}") long turnDelayMs,
+            @Value("${ai.turn.taunt-delay-ms:4000}") long tauntDelayMs) {
+        this.gameService = gameService;
+        this.aiClient = aiClient;
+        this.localAiService = localAiService;
+        this.gifService = gifService;
+        this.messagingTemplate = messagingTemplate;
+        this.localAiMaxDifficulty = localAiMaxDifficulty;
+        this.localAiFallback = localAiFallback;
+        this.turnDelayMs = turnDelayMs;
+        this.tauntDelayMs = tauntDelayMs;
+    }
+
+    /**
+     * Plays the AI's move after the usual pause, if it is still the AI's
+     * turn by then. Returns at once.
+     */
+    public void scheduleAiTurn(UUID gameId) {
+        after(turnDelayMs, () -> requestMove(gameId));
+    }
+
+    private void requestMove(UUID gameId) {
+        Game game;
+        try {
+            game = gameService.getGameSnapshot(gameId);
+        } catch (IllegalStateException e) {
+            log.warn("AI turn dropped for game {}: {}", gameId, e.getMessage());
+            return;
+        }
+        if (!isAiTurn(game)) {
+            return;
+        }
+
+        String grid = game.getBoardState();
+        nextMove(game).whenComplete((response, error) -> {
+            if (error != null) {
+                log.error("Error getting AI move for game {}", gameId, error);
+                broadcastError(gameId, "AI move failed: " + error.getMessage());
+            } else if (response.isWinningMove()) {
+                sendGoodBoyGif(gameId);
+                after(tauntDelayMs, () -> play(gameId, grid, response.column()));
+            } else {
+                workers.execute(() -> play(gameId, grid, response.column()));
+            }
+        });
+    }
+
+    private CompletableFuture<AiMoveResponse> nextMove(Game game) {
+        int aiPlayerId = game.getNextPlayer().getValue();
+        String grid = game.getBoardState();
+        int difficulty = game.getAiDifficulty();
+
+        if (difficulty <= localAiMaxDifficulty) {
+            return CompletableFuture.supplyAsync(() -> localAiService.nextMove(grid, difficulty, aiPlayerId), workers);
+        }
+
+        CompletableFuture<AiMoveResponse> remote = aiClient.nextMove(
+                new AiMoveRequest(grid, difficulty, aiPlayerId, game.getGameId()));
+        if (!localAiFallback) {
+            return remote;
+        }
+        return remote.exceptionallyAsync(error -> {
+            log.warn("AI service unavailable for game {}, playing in process: {}", game.getGameId(),
+                    error.getMessage());
+            return localAiService.nextMove(grid, difficulty, aiPlayerId);
+        }, workers);
+    }
+
+    /**
+     * Plays {@code column}, searched on {@code grid}, unless the board has
+     * changed since.
+     */
+    private void play(UUID gameId, String grid, int column) {
+        Game game;
+        try {
+            game = gameService.applyAiMove(gameId, grid, column);
+        } catch (IllegalStateException e) {
+            log.error("Error applying AI move for game {}", gameId, e);
+            broadcastError(gameId, "AI move failed: " + e.getMessage());
+            return;
+        }
+        if (game == null) {
+            return;
+        }
+
+        messagingTemplate.convertAndSend("/topic/game/" + gameId, gameService.createGameUpdateDTO(game));
+        if (game.getStatus() == GameStatus.IN_PROGRESS && game.getAiDifficulty() > localAiMaxDifficulty) {
+            aiClient.ponder(new AiPonderRequest(
+                    gameId,
+                    game.getBoardState(),
+                    game.getAiDifficulty(),
+                    3 - game.getNextPlayer().getValue()));
+        }
+    }
+
+    private boolean isAiTurn(Game game) {
+        return game.getGameType() == GameType.PVE && game.getStatus() == GameStatus.IN_PROGRESS
+                && game.isAiOpponent(game.getNextPlayerId());
+    }
+
+    /**
+     * Runs {@code task} on a virtual thread once {@code delayMs} have passed;
+     * the timer thread itself only hands it over.
+     */
+    private void after(long delayMs, Runnable task) {
+        timer.schedule(() -> workers.execute(task), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void broadcastError(UUID gameId, String error) {
+        try {
+            Game game = gameService.getGameSnapshot(gameId);
+            messagingTemplate.convertAndSend("/topic/game/" + gameId,
+                    gameService.createGameUpdateDTO(game).withError(error));
+        } catch (Exception e) {
+            log.error("Error broadcasting AI failure for game {}", gameId, e);
+        }
+    }
+
+    private void sendGoodBoyGif(UUID gameId) {
+        try {
+            var gifOpt = gifService.getByCode("good_boy");
+            if (gifOpt.isPresent()) {
+                var gif = gifOpt.get();
+                GifReactionEvent event = new GifReactionEvent(
+                        gameId,
+                        GameService.AI_PLAYER_UUID,
+                        gif.getCode(),
+                        gif.getAssetPath(),
+                        System.currentTimeMillis());
+
+                String topic = "/topic/game/" + gameId + "/gif";
+                messagingTemplate.convertAndSend(topic, event);
+                log.info("AI sent 'good_boy' taunt before winning move in game {}", gameId);
+            } else {
+                log.warn("GIF 'good_boy' not found in database");
+            }
+        } catch (Exception e) {
+            log.error("Error sending AI taunt GIF for game {}", gameId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+}
@@ -1,5 +1,7 @@
 package com.ranked4.game.game_service.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -9,111 +11,116 @@ import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpMethod;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
-import com.ranked4.game.game_service.dto.AiMoveRequest;
-import com.ranked4.game.game_service.dto.AiMoveResponse;
 import com.ranked4.game.game_service.dto.GameFinishedEvent;
 import com.ranked4.game.game_service.dto.GameHistoryDTO;
 import com.ranked4.game.game_service.dto.GameUpdateDTO;
-import com.ranked4.game.game_service.dto.GifReactionEvent;
 import com.ranked4.game.game_service.dto.PlayerInfoDTO;
-import com.ranked4.game.game_service.dto.UserProfileDataDTO;
 import com.ranked4.game.game_service.model.Disc;
 import com.ranked4.game.game_service.model.Game;
 import com.ranked4.game.game_service.model.GameStatus;
 import com.ranked4.game.game_service.model.GameType;
 import com.ranked4.game.game_service.model.Move;
 import com.ranked4.game.game_service.repository.GameRepository;
-import com.ranked4.game.game_service.repository.MoveRepository;
+import com.ranked4.game.game_service.util.GameMailboxes;
 import com.ranked4.game.game_service.util.KafkaConfig;
 
 @Service
 public class GameService {
 
     private static final Logger log = LoggerFactory.getLogger(GameService.class);
-    private static final UUID AI_PLAYER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
-    private static final String AI_DISPLAY_NAME = "IA";
-    private static final String AI_AVATAR_URL = "https://img.freepik.com/vecteurs-libre/robot-vectoriel-graident-ai_78370-4114.jpg?semt=ais_se_enriched&w=740&q=80";
+    public static final UUID AI_PLAYER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
 
     private final GameRepository gameRepository;
-    private final MoveRepository moveRepository;
+    private final LiveGameStore liveGames;
+    private final GameMailboxes mailboxes;
+    private final ApplicationEventPublisher events;
 
     private final KafkaTemplate<String, GameFinishedEvent> kafkaTemplate;
 
-    private final RestTemplate restTemplate;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final GifService gifService;
-    private final String USER_PROFILE_SERVICE_URL = "http://userprofile-service:8080/api/profiles/fullprofilesbyids";
-    private final String AI_SERVICE_URL = "http://ai-service:8080/api/ai/next-move";
+    private final PlayerProfileClient playerProfiles;
+    private final AiClient aiClient;
+    private final int localAiMaxDifficulty;
 
-    public GameService(GameRepository gameRepository, MoveRepository moveRepository,
-            KafkaTemplate<String, GameFinishedEvent> kafkaTemplate, RestTemplate restTemplate,
-            SimpMessagingTemplate messagingTemplate, GifService gifService) {
+    public GameService(GameRepository gameRepository, LiveGameStore liveGames, GameMailboxes mailboxes,
+            ApplicationEventPublisher events, KafkaTemplate<String, GameFinishedEvent> kafkaTemplate,
+            PlayerProfileClient playerProfiles, AiClient aiClient,
+            @Value("${ai.local.max-difficulty:2}") int localAiMaxDifficulty) {
         this.gameRepository = gameRepository;
-        this.moveRepository = moveRepository;
+        this.liveGames = liveGames;
+        this.mailboxes = mailboxes;
+        this.events = events;
         this.kafkaTemplate = kafkaTemplate;
-        this.restTemplate = restTemplate;
-        this.messagingTemplate = messagingTemplate;
-        this.gifService = gifService;
+        this.playerProfiles = playerProfiles;
+        this.aiClient = aiClient;
+        this.localAiMaxDifficulty = localAiMaxDifficulty;
     }
 
-    @Transactional
     public Game createGame(UUID gameId, UUID playerOneId, UUID playerTwoId) {
         return createGame(gameId, playerOneId, playerTwoId, true, "RANKED");
     }
 
-    @Transactional
     public Game createGame(UUID gameId, UUID playerOneId, UUID playerTwoId, boolean ranked, String origin) {
         log.info("Creating new game (ID: {}) for {} vs {}", gameId, playerOneId, playerTwoId);
 
-        if (gameRepository.existsById(gameId)) {
-            log.warn("Attempting to create a game that already exists: {}", gameId);
-            return gameRepository.findById(gameId).get();
-        }
-
         Game game = new Game();
         game.startGame(gameId, playerOneId, playerTwoId);
         game.setRanked(ranked);
         game.setOrigin(origin);
+        playerProfiles.snapshot(List.of(game));
 
-        return gameRepository.save(game);
+        return saveNewGame(game);
     }
 
-    @Transactional
     public Game createPveGame(UUID gameId, UUID playerId, int difficulty) {
         log.info("Creating PVE game (ID: {}) for player {} with difficulty {}", gameId, playerId, difficulty);
 
-        if (gameRepository.existsById(gameId)) {
-            log.warn("Attempting to create a game that already exists: {}", gameId);
-            return gameRepository.findById(gameId).get();
-        }
-
         Game game = new Game();
         game.startGame(gameId, playerId, AI_PLAYER_UUID);
         game.setRanked(false);
         game.setOrigin("PVE");
         game.setGameType(com.ranked4.game.game_service.model.GameType.PVE);
         game.setAiDifficulty(difficulty);
+        playerProfiles.snapshot(List.of(game));
 
-        return gameRepository.save(game);
+        return saveNewGame(game);
     }
 
-    @Transactional
+    /**
+     * Plays a move and returns a snapshot of the game right after it.
+     */
     public Game applyMove(UUID gameId, UUID playerId, int column) {
         log.info("Attempting move: Game {}, Player {}, Column {}", gameId, playerId, column);
 
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalStateException("Game not found: " + gameId));
+        Game game = liveGame(gameId);
+        Game played = mailboxes.call(gameId, () -> {
+            playMove(game, playerId, column);
+            return game.snapshot();
+        });
+
+        if (played.getStatus() == GameStatus.FINISHED) {
+            log.info("Game finished: {}. Winner: {}", gameId, played.getWinner());
+            sendGameFinishedEvent(played);
 
+            if (played.getGameType() == GameType.PVE && played.getAiDifficulty() > localAiMaxDifficulty) {
+                aiClient.cancelPonder(gameId);
+            }
+        }
+
+        return played;
+    }
+
+    /**
+     * Plays a move on the game's mailbox.
+     */
+    private void playMove(Game game, UUID playerId, int column) {
         if (game.getStatus() != GameStatus.IN_PROGRESS) {
             throw new IllegalStateException("Game is not in progress.");
         }
@@ -133,64 +140,48 @@ public class GameService {
             throw new IllegalStateException("Invalid move. Column " + column + " may be full.");
         }
 
-        int moveNumber = moveRepository.findByGameGameIdOrderByMoveNumberAsc(gameId).size() + 1;
-        Move move = new Move(game, playerDisc, column, moveNumber);
-        moveRepository.save(move);
-
-        Game updatedGame = gameRepository.save(game);
-
-        if (updatedGame.getStatus() == GameStatus.FINISHED) {
-            log.info("Game finished: {}. Winner: {}", gameId, updatedGame.getWinner());
-
-            GameFinishedEvent event = new GameFinishedEvent(
-                    updatedGame.getGameId(),
-                    updatedGame.getPlayerOneId(),
-                    updatedGame.getPlayerTwoId(),
-                    updatedGame.getWinner(),
-                    updatedGame.isRanked(),
-                    updatedGame.getOrigin(),
-                    updatedGame.getGameType());
-            event.setAiDifficulty(updatedGame.getAiDifficulty());
-
-            try {
-                kafkaTemplate.send(KafkaConfig.GAME_FINISHED_TOPIC, event.getGameId().toString(), event);
-                log.info("GameFinishedEvent sent to Kafka for game {} (aiDifficulty: {})", gameId,
-                        updatedGame.getAiDifficulty());
-            } catch (Exception e) {
-                log.error("Error sending GameFinishedEvent to Kafka", e);
-            }
-        }
-
-        return updatedGame;
+        liveGames.recordMove(game, new Move(game, playerDisc, column, moveCount(game.getBoardState())));
+        turnChanged(game);
     }
 
-    @Transactional
+    /**
+     * Ends the game as a forfeit and returns a snapshot of it. A game that
+     * is already over is returned unchanged.
+     */
     public Game forfeitGame(UUID gameId, UUID disconnectedPlayerId) {
         log.warn("Traitement du forfait pour le joueur {} dans la partie {}", disconnectedPlayerId, gameId);
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalStateException("Partie non trouvée: " + gameId));
-
-        if (game.getStatus() == GameStatus.FINISHED) {
-            log.info("La partie {} est déjà terminée. Aucun forfait traité.", gameId);
-            return game;
+        Game game = liveGames.get(gameId);
+        if (game == null) {
+            return getGameState(gameId);
         }
 
-        Disc forfeitingDisc;
-        if (disconnectedPlayerId.equals(game.getPlayerOneId())) {
-            forfeitingDisc = Disc.PLAYER_ONE;
-        } else if (disconnectedPlayerId.equals(game.getPlayerTwoId())) {
-            forfeitingDisc = Disc.PLAYER_TWO;
-        } else {
-            throw new IllegalStateException(
-                    "Le joueur déconnecté " + disconnectedPlayerId + " n'appartient pas à la partie " + gameId);
-        }
+        Game forfeited = mailboxes.call(gameId, () -> {
+            if (game.getStatus() == GameStatus.FINISHED) {
+                log.info("La partie {} est déjà terminée. Aucun forfait traité.", gameId);
+                return null;
+            }
 
-        game.forfeit(forfeitingDisc);
-        Game updatedGame = gameRepository.save(game);
+            Disc forfeitingDisc;
+            if (disconnectedPlayerId.equals(game.getPlayerOneId())) {
+                forfeitingDisc = Disc.PLAYER_ONE;
+            } else if (disconnectedPlayerId.equals(game.getPlayerTwoId())) {
+                forfeitingDisc = Disc.PLAYER_TWO;
+            } else {
+                throw new IllegalStateException(
+                        "Le joueur déconnecté " + disconnectedPlayerId + " n'appartient pas à la partie " + gameId);
+            }
 
-        sendGameFinishedEvent(updatedGame);
+            game.forfeit(forfeitingDisc);
+            liveGames.markDirty(game);
+            turnChanged(game);
+            return game.snapshot();
+        });
 
-        return updatedGame;
+        if (forfeited == null) {
+            return getGameSnapshot(gameId);
+        }
+        sendGameFinishedEvent(forfeited);
+        return forfeited;
     }
 
     private void sendGameFinishedEvent(Game finishedGame) {
@@ -213,26 +204,106 @@ public class GameService {
         }
     }
 
-    @Transactional(readOnly = true)
     public Game getGameState(UUID gameId) {
-        return gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalStateException("Game not found: " + gameId));
+        Game game = findGame(gameId);
+        if (game == null) {
+            throw new IllegalStateException("Game not found: " + gameId);
+        }
+        return game;
+    }
+
+    /**
+     * The game as one consistent snapshot: a live game is copied on its
+     * mailbox, a finished one is read back from Postgres.
+     */
+    public Game getGameSnapshot(UUID gameId) {
+        Game live = liveGames.get(gameId);
+        if (live != null) {
+            return mailboxes.call(gameId, live::snapshot);
+        }
+        return getGameState(gameId);
     }
 
-    @Transactional
+    /**
+     * Cancels a ranked game nobody showed up for and returns a snapshot of
+     * it.
+     */
     public Game cancelGameNoShow(UUID gameId) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new IllegalStateException("Game not found: " + gameId));
+        Game game = liveGames.get(gameId);
+        if (game == null) {
+            return getGameState(gameId);
+        }
+
+        return mailboxes.call(gameId, () -> {
+            if (!game.isRanked() || game.getStatus() != GameStatus.IN_PROGRESS) {
+                return game.snapshot();
+            }
+
+            log.warn("Cancelling ranked game {} due to missing player(s) after grace period.", gameId);
+            game.setRanked(false);
+            game.setOrigin("CANCELLED_NO_SHOW");
+            game.setStatus(GameStatus.FINISHED);
+            liveGames.markDirty(game);
+            turnChanged(game);
+            return game.snapshot();
+        });
+    }
+
+    /**
+     * Saves a new game on its mailbox, so that a repeated creation finds the
+     * first one, and returns a snapshot of the live game.
+     */
+    private Game saveNewGame(Game game) {
+        UUID gameId = game.getGameId();
+        return mailboxes.call(gameId, () -> {
+            Game existing = findGame(gameId);
+            if (existing != null) {
+                log.warn("Attempting to create a game that already exists: {}", gameId);
+                return existing.snapshot();
+            }
 
-        if (!game.isRanked() || game.getStatus() != GameStatus.IN_PROGRESS) {
+            // The instance built here stays live: the merged copy save returns has a fresh board
+            gameRepository.save(game);
+            Game live = liveGames.add(game);
+            turnChanged(live);
+            return live.snapshot();
+        });
+    }
+
+    /**
+     * Tells the turn timer, from the game's mailbox, that the current turn
+     * changed or that no turn runs any more.
+     */
+    private void turnChanged(Game game) {
+        Instant turnStart = game.getStatus() == GameStatus.IN_PROGRESS ? game.getTurnStartTime() : null;
+        events.publishEvent(new TurnChangedEvent(game.getGameId(), turnStart));
+    }
+
+    /**
+     * The live game, or else the saved one for games that are over.
+     */
+    private Game findGame(UUID gameId) {
+        Game game = liveGames.get(gameId);
+        return game != null ? game : gameRepository.findById(gameId).orElse(null);
+    }
+
+    private Game liveGame(UUID gameId) {
+        Game game = liveGames.get(gameId);
+        if (game != null) {
             return game;
         }
+        getGameState(gameId);
+        throw new IllegalStateException("Game is not in progress.");
+    }
 
-        log.warn("Cancelling ranked game {} due to missing player(s) after grace period.", gameId);
-        game.setRanked(false);
-        game.setOrigin("CANCELLED_NO_SHOW");
-        game.setStatus(GameStatus.FINISHED);
-        return gameRepository.save(game);
+    private static int moveCount(String boardState) {
+        int count = 0;
+        for (int i = 0; i < boardState.length(); i++) {
+            if (boardState.charAt(i) != '0') {
+                count++;
+            }
+        }
+        return count;
     }
 
     @Transactional(readOnly = true)
@@ -242,20 +313,20 @@ public class GameService {
                 .flatMap(game -> Stream.of(game.getPlayerOneId(), game.getPlayerTwoId()))
                 .filter(id -> !AI_PLAYER_UUID.equals(id))
                 .collect(Collectors.toSet());
-        Map<UUID, PlayerInfoDTO> infoMap = getPlayerInfoMap(playerIds);
+        Map<UUID, PlayerInfoDTO> infoMap = playerProfiles.fetch(playerIds);
         return games.stream()
                 .map(game -> {
                     PlayerInfoDTO p1Info;
                     PlayerInfoDTO p2Info;
 
                     if (AI_PLAYER_UUID.equals(game.getPlayerOneId())) {
-                        p1Info = createAiPlayerInfo();
+                        p1Info = playerProfiles.aiPlayerInfo();
                     } else {
                         p1Info = infoMap.get(game.getPlayerOneId());
                     }
 
                     if (AI_PLAYER_UUID.equals(game.getPlayerTwoId())) {
-                        p2Info = createAiPlayerInfo();
+                        p2Info = playerProfiles.aiPlayerInfo();
                     } else {
                         p2Info = infoMap.get(game.getPlayerTwoId());
                     }
@@ -291,15 +362,15 @@ public class GameService {
                 .filter(id -> !AI_PLAYER_UUID.equals(id))
                 .collect(Collectors.toSet());
 
-        Map<UUID, PlayerInfoDTO> infoMap = getPlayerInfoMap(playerIds);
+        Map<UUID, PlayerInfoDTO> infoMap = playerProfiles.fetch(playerIds);
 
         return gamesPage.map(game -> {
             PlayerInfoDTO p1Info = AI_PLAYER_UUID.equals(game.getPlayerOneId())
-                    ? createAiPlayerInfo()
+                    ? playerProfiles.aiPlayerInfo()
                     : infoMap.get(game.getPlayerOneId());
 
             PlayerInfoDTO p2Info = AI_PLAYER_UUID.equals(game.getPlayerTwoId())
-                    ? createAiPlayerInfo()
+                    ? playerProfiles.aiPlayerInfo()
                     : infoMap.get(game.getPlayerTwoId());
 
             String p1Name = (p1Info != null && p1Info.displayName() != null) ? p1Info.displayName() : "Unknown";
@@ -319,153 +390,63 @@ public class GameService {
         });
     }
 
-    public Map<UUID, PlayerInfoDTO> getPlayerInfoMap(Set<UUID> playerIds) {
-        if (playerIds.isEmpty()) {
-            return Map.of();
-        }
-
-        try {
-            ParameterizedTypeReference<List<UserProfileDataDTO>> responseType = new ParameterizedTypeReference<>() {
-            };
-
-            List<UserProfileDataDTO> profiles = restTemplate.exchange(
-                    USER_PROFILE_SERVICE_URL,
-                    HttpMethod.POST,
-                    new org.springframework.http.HttpEntity<>(playerIds),
-                    responseType).getBody();
-
-            if (profiles == null) {
-                return Map.of();
-            }
-
-            return profiles.stream()
-                    .collect(Collectors.toMap(
-                            UserProfileDataDTO::userId,
-                            UserProfileDataDTO::toPlayerInfoDTO));
-
-        } catch (Exception e) {
-            log.error("Impossible de récupérer les profils utilisateur", e);
-            return Map.of();
-        }
-    }
-
+    /**
+     * The state broadcast to a game's players, with their info from the
+     * game's snapshot. A player without info, in a finished game read back
+     * from Postgres or in a live game whose profile could not be fetched
+     * yet, is fetched again; a live game keeps what is found.
+     */
     public GameUpdateDTO createGameUpdateDTO(Game game) {
-        PlayerInfoDTO p1Info;
-        PlayerInfoDTO p2Info;
-
-        if (AI_PLAYER_UUID.equals(game.getPlayerOneId())) {
-            p1Info = createAiPlayerInfo();
-            p2Info = getPlayerInfo(game.getPlayerTwoId());
-        } else if (AI_PLAYER_UUID.equals(game.getPlayerTwoId())) {
-            p1Info = getPlayerInfo(game.getPlayerOneId());
-            p2Info = createAiPlayerInfo();
-        } else {
-            Set<UUID> playerIds = Set.of(game.getPlayerOneId(), game.getPlayerTwoId());
-            Map<UUID, PlayerInfoDTO> infoMap = getPlayerInfoMap(playerIds);
-            p1Info = infoMap.get(game.getPlayerOneId());
-            p2Info = infoMap.get(game.getPlayerTwoId());
-
-            if (p1Info == null) {
-                p1Info = new PlayerInfoDTO(game.getPlayerOneId(), "Unknown", null, 0, null);
-            }
-            if (p2Info == null) {
-                p2Info = new PlayerInfoDTO(game.getPlayerTwoId(), "Unknown", null, 0, null);
+        PlayerInfoDTO p1Info = game.getPlayerOneInfo();
+        PlayerInfoDTO p2Info = game.getPlayerTwoInfo();
+
+        if (p1Info == null || p2Info == null) {
+            Set<UUID> playerIds = Stream.of(game.getPlayerOneId(), game.getPlayerTwoId())
+                    .filter(id -> !AI_PLAYER_UUID.equals(id))
+                    .collect(Collectors.toSet());
+            Map<UUID, PlayerInfoDTO> infoMap = playerProfiles.fetch(playerIds);
+            p1Info = p1Info != null ? p1Info : playerProfiles.resolve(game.getPlayerOneId(), infoMap);
+            p2Info = p2Info != null ? p2Info : playerProfiles.resolve(game.getPlayerTwoId(), infoMap);
+
+            Game live = liveGames.get(game.getGameId());
+            if (live != null && !infoMap.isEmpty()) {
+                mailboxes.run(game.getGameId(), () -> infoMap.values().forEach(live::fillPlayerInfo));
             }
         }
 
         return new GameUpdateDTO(game, p1Info, p2Info);
     }
 
-    private PlayerInfoDTO createAiPlayerInfo() {
-        return new PlayerInfoDTO(AI_PLAYER_UUID, AI_DISPLAY_NAME, AI_AVATAR_URL, 0, null);
-    }
-
-    private PlayerInfoDTO getPlayerInfo(UUID playerId) {
-        Set<UUID> playerIds = Set.of(playerId);
-        Map<UUID, PlayerInfoDTO> infoMap = getPlayerInfoMap(playerIds);
-        PlayerInfoDTO playerInfo = infoMap.get(playerId);
-
-        if (playerInfo == null) {
-            playerInfo = new PlayerInfoDTO(playerId, "Unknown", null, 0, null);
-        }
-
-        return playerInfo;
-    }
-
-    public AiMoveResponse getAiMove(Game game) {
-        if (game.getGameType() != GameType.PVE) {
-            throw new IllegalStateException("Cannot get AI move for non-PVE game");
-        }
-
-        Disc aiDisc = game.getNextPlayer();
-        int aiPlayerId = aiDisc.getValue();
-
-        AiMoveRequest request = new AiMoveRequest(
-                game.getBoardState(),
-                game.getAiDifficulty(),
-                aiPlayerId);
-
-        try {
-            AiMoveResponse response = restTemplate.postForObject(
-                    AI_SERVICE_URL,
-                    request,
-                    AiMoveResponse.class);
-
-            if (response == null) {
-                throw new IllegalStateException("AI service returned null response");
-            }
-
-            return response;
-        } catch (Exception e) {
-            log.error("Error calling AI service for game {}", game.getGameId(), e);
-            throw new IllegalStateException("Failed to get AI move", e);
-        }
-    }
-
-    @Transactional
-    public Game applyAiMove(UUID gameId) {
-        Game game = getGameState(gameId);
-
-        if (game.getGameType() != GameType.PVE || game.getStatus() != GameStatus.IN_PROGRESS) {
-            return game;
-        }
-
-        AiMoveResponse aiResponse = getAiMove(game);
-
-        if (aiResponse.isWinningMove()) {
-            sendGoodBoyGif(gameId);
-
-            try {
-                Thread.sleep(4000);
-            } catch (InterruptedException e) {
-                log.warn("AI taunt delay interrupted for game {}", gameId);
-                Thread.currentThread().interrupt();
+    /**
+     * Replaces a player's info in every live game they are playing and
+     * returns snapshots of those games.
+     */
+    public List<Game> refreshPlayerInfo(PlayerInfoDTO playerInfo) {
+        List<Game> updated = new ArrayList<>();
+        for (Game game : liveGames.findByPlayer(playerInfo.userId())) {
+            Game snapshot = mailboxes.call(game.getGameId(),
+                    () -> game.updatePlayerInfo(playerInfo) ? game.snapshot() : null);
+            if (snapshot != null) {
+                updated.add(snapshot);
             }
         }
-
-        return applyMove(gameId, AI_PLAYER_UUID, aiResponse.column());
+        return updated;
     }
 
-    private void sendGoodBoyGif(UUID gameId) {
-        try {
-            var gifOpt = gifService.getByCode("good_boy");
-            if (gifOpt.isPresent()) {
-                var gif = gifOpt.get();
-                GifReactionEvent event = new GifReactionEvent(
-                        gameId,
-                        AI_PLAYER_UUID,
-                        gif.getCode(),
-                        gif.getAssetPath(),
-                        System.currentTimeMillis());
-
-                String topic = "/topic/game/" + gameId + "/gif";
-                messagingTemplate.convertAndSend(topic, event);
-                log.info("AI sent 'good_boy' taunt before winning move in game {}", gameId);
-            } else {
-                log.warn("GIF 'good_boy' not found in database");
+    /**
+     * Plays the AI's move on the game's mailbox, if the board is still the
+     * {@code searchedGrid} the move was searched on. Returns null when the
+     * game moved on meanwhile, else a snapshot of the game after the move.
+     */
+    public Game applyAiMove(UUID gameId, String searchedGrid, int column) {
+        return mailboxes.call(gameId, () -> {
+            Game game = getGameState(gameId);
+            if (game.getStatus() != GameStatus.IN_PROGRESS || !game.isAiOpponent(game.getNextPlayerId())
+                    || !searchedGrid.equals(game.getBoardState())) {
+                log.info("AI move for game {} no longer applies, dropped", gameId);
+                return null;
             }
-        } catch (Exception e) {
-            log.error("Error sending AI taunt GIF for game {}", gameId, e);
-        }
+            return applyMove(gameId, AI_PLAYER_UUID, column);
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,285 @@
+package com.ranked4.game.game_service.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ranked4.game.game_service.model.Game;
+import com.ranked4.game.game_service.model.GameStatus;
+import com.ranked4.game.game_service.model.Move;
+import com.ranked4.game.game_service.repository.GameRepository;
+import com.ranked4.game.game_service.util.GameMailboxes;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Games in progress, held in memory as the source of truth while they are
+ * played. Changed games and new moves are written behind to Postgres in
+ * batches; a game leaves the store once its finished state is written. The
+ * store is rebuilt from the {@code IN_PROGRESS} rows on startup: their
+ * players' profiles are fetched again in one request and their turn
+ * deadlines are scheduled again from the saved turn start times.
+ * <p>
+ * Live games are only changed on their {@link GameMailboxes mailbox}; the
+ * writer takes its snapshots there too. It writes them with plain JDBC
+ * batches: a game row already exists once the game is live, so a snapshot
+ * is an update, and moves are only ever inserted, with ids from the
+ * column's identity.
+ */
+@Component
+public class LiveGameStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveGameStore.class);
+
+    private static final String UPDATE_GAME = "UPDATE games SET player_one_id = ?, player_two_id = ?, status = ?, "
+            + "board_state = ?, next_player = ?, winner = ?, finished_at = ?, ranked = ?, origin = ?, game_type = ?, "
+            + "ai_difficulty = ?, turn_start_time = ? WHERE game_id = ?";
+    private static final String INSERT_MOVE = "INSERT INTO game_moves (game_id, player, move_column, move_number, "
+            + "created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final GameRepository gameRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameMailboxes mailboxes;
+    private final ApplicationEventPublisher events;
+    private final PlayerProfileClient playerProfiles;
+    private final int batchSize;
+
+    private final Map<UUID, Game> games = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyGames = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedDeque<Move> pendingMoves = new ConcurrentLinkedDeque<>();
+
+    public LiveGameStore(GameRepository gameRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, GameMailboxes mailboxes, ApplicationEventPublisher events,
+            PlayerProfileClient playerProfiles, @Value("${game.store.batch-size:100}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailboxes = mailboxes;
+        this.events = events;
+        this.playerProfiles = playerProfiles;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        List<Game> inProgress = gameRepository.findByStatus(GameStatus.IN_PROGRESS);
+        playerProfiles.snapshot(inProgress);
+        for (Game game : inProgress) {
+            UUID gameId = game.getGameId();
+            if (games.putIfAbsent(gameId, game) == null) {
+                mailboxes.run(gameId,
+                        () -> events.publishEvent(new TurnChangedEvent(gameId, game.getTurnStartTime())));
+            }
+        }
+        log.info("Live game store rehydrated with {} games in progress", inProgress.size());
+    }
+
+    public Game get(UUID gameId) {
+        return games.get(gameId);
+    }
+
+    /**
+     * Adds a game that is already saved, or returns the live game with the
+     * same id.
+     */
+    public Game add(Game game) {
+        Game existing = games.putIfAbsent(game.getGameId(), game);
+        return existing != null ? existing : game;
+    }
+
+    public List<Game> findByPlayer(UUID playerId) {
+        List<Game> playing = new ArrayList<>();
+        for (Game game : games.values()) {
+            if (playerId.equals(game.getPlayerOneId()) || playerId.equals(game.getPlayerTwoId())) {
+                playing.add(game);
+            }
+        }
+        return playing;
+    }
+
+    public void markDirty(Game game) {
+        dirtyGames.add(game.getGameId());
+    }
+
+    public void recordMove(Game game, Move move) {
+        pendingMoves.add(move);
+        dirtyGames.add(game.getGameId());
+    }
+
+    /**
+     * Drops a game and the moves still waiting to be written for it.
+     */
+    public void evict(UUID gameId) {
+        games.remove(gameId);
+        dirtyGames.remove(gameId);
+        pendingMoves.removeIf(move -> gameId.equals(move.getGame().getGameId()));
+    }
+
+    @Scheduled(fixedDelayString = "${game.store.flush-interval-ms:500}")
+    public void flush() {
+        while (!dirtyGames.isEmpty() || !pendingMoves.isEmpty()) {
+            if (!flushBatch()) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        log.info("Live game store flushed on shutdown");
+    }
+
+    /**
+     * Writes up to one batch of changed games, then the moves queued
+     * before them, in one transaction. If the transaction fails, writes
+     * them again one at a time: a row the database rejects for good is
+     * logged and dropped, and on any other failure the rows left are put
+     * back, in their order, for the next flush.
+     */
+    private boolean flushBatch() {
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (UUID id : dirtyGames) {
+            if (ids.size() == batchSize) {
+                break;
+            }
+            dirtyGames.remove(id);
+            ids.add(id);
+        }
+        List<Move> moves = new ArrayList<>();
+        Move move;
+        while (moves.size() < batchSize && (move = pendingMoves.poll()) != null) {
+            moves.add(move);
+            ids.add(move.getGame().getGameId());
+        }
+
+        List<CompletableFuture<Game>> pending = new ArrayList<>();
+        for (UUID id : ids) {
+            Game game = games.get(id);
+            if (game != null) {
+                pending.add(mailboxes.submit(id, game::snapshot));
+            }
+        }
+        List<Game> snapshots = pending.stream().map(CompletableFuture::join).toList();
+
+        try {
+            write(snapshots, moves);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} games and {} moves in one batch, writing them one at a time",
+                    snapshots.size(), moves.size(), e);
+            if (!writeEach(snapshots, moves)) {
+                return false;
+            }
+        }
+
+        for (Game snapshot : snapshots) {
+            UUID id = snapshot.getGameId();
+            if (snapshot.getStatus() == GameStatus.FINISHED && !dirtyGames.contains(id)) {
+                games.remove(id);
+            }
+        }
+        log.debug("Wrote {} games and {} moves", snapshots.size(), moves.size());
+        return true;
+    }
+
+    /**
+     * Writes every game, then every move, each in its own transaction.
+     * Returns false, with the rows not yet written put back, when a write
+     * fails for another reason than the row itself.
+     */
+    private boolean writeEach(List<Game> snapshots, List<Move> moves) {
+        for (int i = 0; i < snapshots.size(); i++) {
+            Game snapshot = snapshots.get(i);
+            try {
+                write(List.of(snapshot), List.of());
+            } catch (DataIntegrityViolationException e) {
+                log.error("Game {} was rejected by the database, dropping this write", snapshot.getGameId(), e);
+            } catch (RuntimeException e) {
+                log.error("Failed to write game {}, retrying on the next flush", snapshot.getGameId(), e);
+                for (Game unwritten : snapshots.subList(i, snapshots.size())) {
+                    dirtyGames.add(unwritten.getGameId());
+                }
+                requeue(moves);
+                return false;
+            }
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            Move move = moves.get(i);
+            try {
+                write(List.of(), List.of(move));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Move {} of game {} was rejected by the database, dropping it", move.getMoveNumber(),
+                        move.getGame().getGameId(), e);
+            } catch (RuntimeException e) {
+                log.error("Failed to write move {} of game {}, retrying on the next flush", move.getMoveNumber(),
+                        move.getGame().getGameId(), e);
+                requeue(moves.subList(i, moves.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(List<Game> snapshots, List<Move> moves) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_GAME, snapshots.stream().map(LiveGameStore::gameRow).toList());
+            jdbcTemplate.batchUpdate(INSERT_MOVE, moves.stream().map(LiveGameStore::moveRow).toList());
+        });
+    }
+
+    /**
+     * Puts moves back at the head of the queue, ahead of the ones played
+     * since, so they are still written in the order they were played.
+     */
+    private void requeue(List<Move> moves) {
+        for (int i = moves.size() - 1; i >= 0; i--) {
+            pendingMoves.addFirst(moves.get(i));
+        }
+    }
+
+    private static Object[] gameRow(Game game) {
+        return new Object[] {
+            game.getPlayerOneId(), game.getPlayerTwoId(), name(game.getStatus()), game.getBoardState(),
+            name(game.getNextPlayer()), name(game.getWinner()), timestamp(game.getFinishedAt()), game.isRanked(),
+            game.getOrigin(), name(game.getGameType()), game.getAiDifficulty(), timestamp(game.getTurnStartTime()),
+            game.getGameId()
+        };
+    }
+
+    private static Object[] moveRow(Move move) {
+        return new Object[] {
+            move.getGame().getGameId(), name(move.getPlayer()), move.getMoveColumn(), move.getMoveNumber(),
+            timestamp(move.getCreatedAt())
+        };
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
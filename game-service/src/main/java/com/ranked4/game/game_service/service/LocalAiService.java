@@ -0,0 +1,28 @@
+package com.ranked4.game.game_service.service;
+
+import java.util.Random;
+
+import org.springframework.stereotype.Service;
+
+import com.ranked4.engine.Bitboard;
+import com.ranked4.engine.Difficulty;
+import com.ranked4.engine.MoveChooser;
+import com.ranked4.game.game_service.dto.AiMoveResponse;
+
+/**
+ * Plays AI moves inside game-service with the shared engine, without a call
+ * to ai-service. For the levels ai-service also plays with
+ * {@link MoveChooser} the moves are the same; for the others this is a
+ * plain search to the level's depth, without opening book or solver.
+ */
+@Service
+public class LocalAiService {
+
+    private final MoveChooser moveChooser = new MoveChooser(new Random());
+
+    public AiMoveResponse nextMove(String grid, int difficulty, int aiPlayerId) {
+        Bitboard board = Bitboard.fromGrid(grid, aiPlayerId);
+        int column = moveChooser.chooseMove(board, Difficulty.fromLevel(difficulty), null);
+        return new AiMoveResponse(column, board.isWinningMove(column));
+    }
+}
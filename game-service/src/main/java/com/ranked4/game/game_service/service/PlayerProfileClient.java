@@ -0,0 +1,113 @@
+package com.ranked4.game.game_service.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.ranked4.game.game_service.dto.PlayerInfoDTO;
+import com.ranked4.game.game_service.dto.UserProfileDataDTO;
+import com.ranked4.game.game_service.model.Game;
+
+/**
+ * Reads player profiles from userprofile-service. Live games take one
+ * snapshot of their players through {@link #snapshot} when they are created
+ * or rehydrated, so broadcasting a game only waits on this client while a
+ * player's profile is still missing.
+ */
+@Component
+public class PlayerProfileClient {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerProfileClient.class);
+    private static final String USER_PROFILE_SERVICE_URL = "http://userprofile-service:8080/api/profiles/fullprofilesbyids";
+    private static final String AI_DISPLAY_NAME = "IA";
+    private static final String AI_AVATAR_URL = "https://img.freepik.com/vecteurs-libre/robot-vectoriel-graident-ai_78370-4114.jpg?semt=ais_se_enriched&w=740&q=80";
+
+    private final RestTemplate restTemplate;
+
+    public PlayerProfileClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    public Map<UUID, PlayerInfoDTO> fetch(Set<UUID> playerIds) {
+        if (playerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            ParameterizedTypeReference<List<UserProfileDataDTO>> responseType = new ParameterizedTypeReference<>() {
+            };
+
+            List<UserProfileDataDTO> profiles = restTemplate.exchange(
+                    USER_PROFILE_SERVICE_URL,
+                    HttpMethod.POST,
+                    new HttpEntity<>(playerIds),
+                    responseType).getBody();
+
+            if (profiles == null) {
+                return Map.of();
+            }
+
+            return profiles.stream()
+                    .collect(Collectors.toMap(
+                            UserProfileDataDTO::userId,
+                            UserProfileDataDTO::toPlayerInfoDTO));
+
+        } catch (Exception e) {
+            log.error("Impossible de récupérer les profils utilisateur", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Fills the player info of every game with one request for all their
+     * human players. Players the profile service does not return, or all of
+     * them when it cannot be reached, are left without info: broadcasts
+     * show them as "Unknown" and fetch them again until they are found.
+     */
+    public void snapshot(Collection<Game> games) {
+        Set<UUID> playerIds = new HashSet<>();
+        for (Game game : games) {
+            playerIds.add(game.getPlayerOneId());
+            playerIds.add(game.getPlayerTwoId());
+        }
+        playerIds.remove(GameService.AI_PLAYER_UUID);
+
+        Map<UUID, PlayerInfoDTO> infoMap = fetch(playerIds);
+        for (Game game : games) {
+            game.setPlayerOneInfo(found(game.getPlayerOneId(), infoMap));
+            game.setPlayerTwoInfo(found(game.getPlayerTwoId(), infoMap));
+        }
+    }
+
+    public PlayerInfoDTO resolve(UUID playerId, Map<UUID, PlayerInfoDTO> infoMap) {
+        PlayerInfoDTO playerInfo = found(playerId, infoMap);
+        return playerInfo != null ? playerInfo : new PlayerInfoDTO(playerId, "Unknown", null, 0, null);
+    }
+
+    /**
+     * The player's info from {@code infoMap}, the AI's own, or null when the
+     * profile service did not return it.
+     */
+    private PlayerInfoDTO found(UUID playerId, Map<UUID, PlayerInfoDTO> infoMap) {
+        if (GameService.AI_PLAYER_UUID.equals(playerId)) {
+            return aiPlayerInfo();
+        }
+        return infoMap.get(playerId);
+    }
+
+    public PlayerInfoDTO aiPlayerInfo() {
+        return new PlayerInfoDTO(GameService.AI_PLAYER_UUID, AI_DISPLAY_NAME, AI_AVATAR_URL, 0, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ranked4.game.game_service.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published on the game's mailbox whenever its turn clock changes: a new
+ * turn started at {@code turnStartTime}, or no turn is running any more when
+ * it is null.
+ */
+public record TurnChangedEvent(UUID gameId, Instant turnStartTime) {
+}
@@ -1,31 +1,46 @@
 package com.ranked4.game.game_service.service;
 
 import com.ranked4.game.game_service.model.Game;
-import com.ranked4.game.game_service.model.GameStatus;
-import com.ranked4.game.game_service.repository.GameRepository;
+import com.ranked4.game.game_service.util.GameMailboxes;
+import com.ranked4.game.game_service.util.TimingWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
-
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the first free column for a player whose turn runs out. Each game in
+ * progress has one deadline on the timing wheel, replaced whenever its turn
+ * changes and dropped when the game ends.
+ */
 @Service
 public class TurnTimerService {
 
     private static final Logger logger = LoggerFactory.getLogger(TurnTimerService.class);
     private static final long TURN_TIMEOUT_SECONDS = 45;
 
-    private final GameRepository gameRepository;
+    private final LiveGameStore liveGames;
+    private final GameMailboxes mailboxes;
     private final GameService gameService;
+    private final AiTurnScheduler aiTurnScheduler;
+    private final TimingWheel gameTimer;
+    private final Map<UUID, TimingWheel.Timeout> deadlines = new ConcurrentHashMap<>();
     private com.ranked4.game.game_service.controller.GameSocketController gameSocketController;
 
-    public TurnTimerService(GameRepository gameRepository, GameService gameService) {
-        this.gameRepository = gameRepository;
+    public TurnTimerService(LiveGameStore liveGames, GameMailboxes mailboxes, GameService gameService,
+            AiTurnScheduler aiTurnScheduler, TimingWheel gameTimer) {
+        this.liveGames = liveGames;
+        this.mailboxes = mailboxes;
         this.gameService = gameService;
+        this.aiTurnScheduler = aiTurnScheduler;
+        this.gameTimer = gameTimer;
     }
 
     @org.springframework.beans.factory.annotation.Autowired(required = false)
@@ -34,81 +49,93 @@ public class TurnTimerService {
         this.gameSocketController = gameSocketController;
     }
 
-    @Scheduled(fixedRate = 2000)
-    public void checkExpiredTurns() {
-        Instant threshold = Instant.now().minusSeconds(TURN_TIMEOUT_SECONDS);
-        List<Game> expiredGames = gameRepository.findGamesWithExpiredTurns(GameStatus.IN_PROGRESS, threshold);
+    @EventListener
+    public void onTurnChanged(TurnChangedEvent event) {
+        UUID gameId = event.gameId();
+        Instant turnStart = event.turnStartTime();
+
+        TimingWheel.Timeout previous;
+        if (turnStart == null) {
+            previous = deadlines.remove(gameId);
+        } else {
+            long delayMs = Duration.between(Instant.now(), turnStart.plusSeconds(TURN_TIMEOUT_SECONDS)).toMillis();
+            previous = deadlines.put(gameId,
+                    gameTimer.schedule(() -> turnExpired(gameId, turnStart), delayMs, TimeUnit.MILLISECONDS));
+        }
 
-        if (!expiredGames.isEmpty()) {
-            logger.info("Found {} games with expired turns", expiredGames.size());
+        if (previous != null) {
+            previous.cancel();
         }
+    }
 
-        for (Game game : expiredGames) {
-            logger.info("Turn timeout for game {} - auto-playing for player {}",
-                    game.getGameId(), game.getNextPlayer());
-            autoPlayMove(game);
+    private void turnExpired(UUID gameId, Instant turnStart) {
+        Game game = liveGames.get(gameId);
+        if (game == null) {
+            deadlines.remove(gameId);
+            return;
         }
+        autoPlayMove(game, turnStart);
     }
 
-    @Transactional
-    public void autoPlayMove(Game game) {
+    /**
+     * Plays for the player whose turn started at {@code turnStart}, unless a
+     * move got in first. The check and the move run together on the game's
+     * mailbox.
+     */
+    public void autoPlayMove(Game game, Instant turnStart) {
+        UUID gameId = game.getGameId();
         try {
-            logger.info("Starting auto-play for game {}, current player: {}, playerId: {}",
-                    game.getGameId(), game.getNextPlayer(), game.getNextPlayerId());
-
-            int firstAvailableColumn = findFirstAvailableColumn(game);
-            logger.info("First available column: {}", firstAvailableColumn);
-
-            if (firstAvailableColumn != -1) {
-                logger.info("Calling gameService.applyMove for game {}, playerId {}, column {}",
-                        game.getGameId(), game.getNextPlayerId(), firstAvailableColumn);
-
-                com.ranked4.game.game_service.model.Game updatedGame = gameService.applyMove(
-                        game.getGameId(),
-                        game.getNextPlayerId(),
-                        firstAvailableColumn);
-
-                logger.info("Auto-play successful for game {}", game.getGameId());
-
-                if (gameSocketController != null) {
-                    logger.info("Broadcasting game update after auto-play for game {}", game.getGameId());
-                    gameSocketController.broadcastGameUpdate(game.getGameId());
-
-                    if (updatedGame.getGameType() == com.ranked4.game.game_service.model.GameType.PVE
-                            && updatedGame.getStatus() == com.ranked4.game.game_service.model.GameStatus.IN_PROGRESS) {
-                        logger.info("PVE game detected, triggering AI move for game {}", game.getGameId());
-
-                        try {
-                            Thread.sleep(500);
-                            gameService.applyAiMove(game.getGameId());
-                            gameSocketController.broadcastGameUpdate(game.getGameId());
-                            logger.info("AI move completed for game {}", game.getGameId());
-                        } catch (Exception aiException) {
-                            logger.error("Error during AI move after auto-play for game {}", game.getGameId(),
-                                    aiException);
-                        }
-                    }
-                } else {
-                    logger.warn("GameSocketController not available for broadcasting");
+            Game updatedGame = mailboxes.call(gameId, () -> {
+                if (game.getStatus() != com.ranked4.game.game_service.model.GameStatus.IN_PROGRESS
+                        || !turnStart.equals(game.getTurnStartTime())) {
+                    return null;
+                }
+
+                logger.info("Turn timeout for game {} - auto-playing for player {}, playerId: {}",
+                        gameId, game.getNextPlayer(), game.getNextPlayerId());
+
+                int firstAvailableColumn = findFirstAvailableColumn(game);
+                logger.info("First available column: {}", firstAvailableColumn);
+
+                if (firstAvailableColumn == -1) {
+                    logger.warn("No available column found for auto-play in game {} - board might be full", gameId);
+                    return null;
+                }
+
+                return gameService.applyMove(gameId, game.getNextPlayerId(), firstAvailableColumn);
+            });
+
+            if (updatedGame == null) {
+                return;
+            }
+
+            logger.info("Auto-play successful for game {}", gameId);
+
+            if (gameSocketController != null) {
+                logger.info("Broadcasting game update after auto-play for game {}", gameId);
+                gameSocketController.broadcastGameUpdate(updatedGame);
+
+                if (updatedGame.getGameType() == com.ranked4.game.game_service.model.GameType.PVE
+                        && updatedGame.getStatus() == com.ranked4.game.game_service.model.GameStatus.IN_PROGRESS) {
+                    logger.info("PVE game detected, triggering AI move for game {}", gameId);
+                    aiTurnScheduler.scheduleAiTurn(gameId);
                 }
             } else {
-                logger.warn("No available column found for auto-play in game {} - board might be full",
-                        game.getGameId());
+                logger.warn("GameSocketController not available for broadcasting");
             }
         } catch (Exception e) {
             logger.error("CRITICAL ERROR during auto-play for game {}: {} - Stack trace:",
-                    game.getGameId(), e.getMessage(), e);
-
-            try {
-                Game freshGame = gameRepository.findById(game.getGameId()).orElse(null);
-                if (freshGame != null) {
-                    freshGame.setTurnStartTime(Instant.now().plusSeconds(TURN_TIMEOUT_SECONDS));
-                    gameRepository.save(freshGame);
-                    logger.info("Reset turn timer for game {} to avoid infinite loop", game.getGameId());
+                    gameId, e.getMessage(), e);
+
+            mailboxes.run(gameId, () -> {
+                if (game.getStatus() != com.ranked4.game.game_service.model.GameStatus.IN_PROGRESS) {
+                    return;
                 }
-            } catch (Exception saveError) {
-                logger.error("Failed to reset timer for game {}: {}", game.getGameId(), saveError.getMessage());
-            }
+                game.setTurnStartTime(Instant.now().plusSeconds(TURN_TIMEOUT_SECONDS));
+                liveGames.markDirty(game);
+                onTurnChanged(new TurnChangedEvent(gameId, game.getTurnStartTime()));
+            });
+            logger.info("Reset turn timer for game {} to avoid infinite loop", gameId);
         }
     }
 
@@ -1,9 +1,13 @@
 package com.ranked4.game.game_service.util;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class AppConfig {
 
@@ -11,4 +15,16 @@ public class AppConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
-}
\ No newline at end of file
+
+    @Bean(destroyMethod = "close")
+    public TimingWheel gameTimer(MeterRegistry meterRegistry,
+            @Value("${game.timer.tick-ms:100}") long tickMs,
+            @Value("${game.timer.wheel-size:512}") int wheelSize,
+            @Value("${game.timer.workers:2}") int workers) {
+        TimingWheel gameTimer = new TimingWheel("game-timer", tickMs, wheelSize, workers);
+        Gauge.builder("game.timer.pending", gameTimer, TimingWheel::pending)
+                .description("Turn deadlines and no-show checks waiting on the timing wheel")
+                .register(meterRegistry);
+        return gameTimer;
+    }
+}
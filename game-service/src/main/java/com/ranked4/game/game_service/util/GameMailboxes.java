@@ -0,0 +1,143 @@
+package com.ranked4.game.game_service.util;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single-writer execution for games: every change to a game runs on the
+ * mailbox its id hashes to, one task at a time and in submission order, on
+ * that mailbox's own virtual thread. Games on different mailboxes run in
+ * parallel; games sharing one only queue behind each other.
+ * <p>
+ * Queue depth is exported per mailbox as {@code game.mailbox.depth}.
+ */
+@Component
+public class GameMailboxes {
+
+    private static final Logger log = LoggerFactory.getLogger(GameMailboxes.class);
+    private static final Runnable STOP = () -> {
+    };
+
+    private final Mailbox[] mailboxes;
+
+    public GameMailboxes(MeterRegistry meterRegistry, @Value("${game.mailbox.count:0}") int count) {
+        int size = count > 0 ? count : Runtime.getRuntime().availableProcessors() * 4;
+        this.mailboxes = new Mailbox[size];
+        for (int i = 0; i < size; i++) {
+            Mailbox mailbox = new Mailbox(i);
+            mailboxes[i] = mailbox;
+            Gauge.builder("game.mailbox.depth", mailbox.queue, BlockingQueue::size)
+                    .description("Game operations waiting in a mailbox")
+                    .tag("mailbox", Integer.toString(i))
+                    .register(meterRegistry);
+        }
+        log.info("Started {} game mailboxes", size);
+    }
+
+    public <T> CompletableFuture<T> submit(UUID gameId, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailboxFor(gameId).queue.add(() -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs {@code task} on the game's mailbox and waits for it. Runs it in
+     * place when already on that mailbox, so a task may call back into the
+     * same game without waiting on itself.
+     */
+    public <T> T call(UUID gameId, Supplier<T> task) {
+        Mailbox mailbox = mailboxFor(gameId);
+        if (Thread.currentThread() == mailbox.thread) {
+            return task.get();
+        }
+        try {
+            return submit(gameId, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public void run(UUID gameId, Runnable task) {
+        call(gameId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    private Mailbox mailboxFor(UUID gameId) {
+        return mailboxes[Math.floorMod(gameId.hashCode(), mailboxes.length)];
+    }
+
+    /**
+     * Lets every mailbox finish what is already queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Mailbox mailbox : mailboxes) {
+            mailbox.queue.add(STOP);
+        }
+        for (Mailbox mailbox : mailboxes) {
+            if (!mailbox.thread.join(Duration.ofSeconds(5))) {
+                log.warn("Game mailbox {} still busy at shutdown, {} operations dropped", mailbox.index,
+                        mailbox.queue.size());
+                mailbox.thread.interrupt();
+            }
+        }
+    }
+
+    private static final class Mailbox {
+        private final int index;
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        Mailbox(int index) {
+            this.index = index;
+            this.thread = Thread.ofVirtual().name("game-mailbox-" + index).start(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task == STOP) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Game operation failed on mailbox {}", index, e);
+                }
+            }
+        }
+    }
+}
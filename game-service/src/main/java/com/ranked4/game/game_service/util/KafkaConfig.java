@@ -17,6 +17,7 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import com.ranked4.game.game_service.dto.MatchFoundEvent;
+import com.ranked4.game.game_service.dto.ProfileChangedEvent;
 
 @EnableKafka
 @Configuration
@@ -24,6 +25,7 @@ public class KafkaConfig {
 
     public static final String GAME_FINISHED_TOPIC = "game.finished";
     public static final String PLAYER_DISCONNECTED_TOPIC = "player.disconnected";
+    public static final String PROFILE_CHANGED_TOPIC = "profile.changed";
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
@@ -31,6 +33,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${game.instance-id:${HOSTNAME:game-service}}")
+    private String instanceId;
+
     @Bean
     public ConsumerFactory<String, MatchFoundEvent> matchFoundConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -56,6 +61,37 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * Every instance must see every profile change for the games it holds,
+     * so each one reads the topic in its own group, named after the
+     * instance so that a restart picks the same group up again.
+     */
+    @Bean
+    public ConsumerFactory<String, ProfileChangedEvent> profileChangedConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-profiles-" + instanceId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        JsonDeserializer<ProfileChangedEvent> deserializer = new JsonDeserializer<>(ProfileChangedEvent.class);
+        deserializer.setUseTypeHeaders(false);
+        deserializer.addTrustedPackages("com*");
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProfileChangedEvent> profileChangedListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProfileChangedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(profileChangedConsumerFactory());
+        return factory;
+    }
+
     @Bean
     public NewTopic gameFinishedTopic() {
         return TopicBuilder.name(GAME_FINISHED_TOPIC)
@@ -1,5 +1,7 @@
 package com.ranked4.game.game_service.util;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -8,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import com.ranked4.game.game_service.dto.GameUpdateDTO;
 import com.ranked4.game.game_service.dto.MatchFoundEvent;
+import com.ranked4.game.game_service.dto.ProfileChangedEvent;
 import com.ranked4.game.game_service.model.Game;
 import com.ranked4.game.game_service.service.GameService;
 
@@ -18,12 +21,13 @@ public class KafkaService {
     private final GameService gameService;
     private final SimpMessagingTemplate messagingTemplate;
     private final GameSessionRegistry gameSessionRegistry;
-    private final java.util.concurrent.ScheduledExecutorService scheduler = java.util.concurrent.Executors.newSingleThreadScheduledExecutor();
+    private final TimingWheel gameTimer;
 
-    public KafkaService(GameService gameService, SimpMessagingTemplate messagingTemplate, GameSessionRegistry gameSessionRegistry) {
+    public KafkaService(GameService gameService, SimpMessagingTemplate messagingTemplate, GameSessionRegistry gameSessionRegistry, TimingWheel gameTimer) {
         this.gameService = gameService;
         this.messagingTemplate = messagingTemplate;
         this.gameSessionRegistry = gameSessionRegistry;
+        this.gameTimer = gameTimer;
     }
 
     @KafkaListener(
@@ -61,8 +65,26 @@ public class KafkaService {
         }
     }
 
+    @KafkaListener(
+        topics = KafkaConfig.PROFILE_CHANGED_TOPIC,
+        containerFactory = "profileChangedListenerContainerFactory"
+    )
+    public void handleProfileChanged(ProfileChangedEvent event) {
+        try {
+            List<Game> games = gameService.refreshPlayerInfo(event.toPlayerInfoDTO());
+            for (Game game : games) {
+                messagingTemplate.convertAndSend("/topic/game/" + game.getGameId(), gameService.createGameUpdateDTO(game));
+            }
+            if (!games.isEmpty()) {
+                log.info("Profile of player {} refreshed in {} live games", event.userId(), games.size());
+            }
+        } catch (Exception e) {
+            log.error("Error processing ProfileChangedEvent event: {}", event, e);
+        }
+    }
+
     private void scheduleNoShowCheck(java.util.UUID gameId, java.util.UUID playerOneId, java.util.UUID playerTwoId) {
-        scheduler.schedule(() -> {
+        gameTimer.schedule(() -> {
             try {
                 boolean p1Connected = gameSessionRegistry.isPlayerConnectedToGame(playerOneId, gameId);
                 boolean p2Connected = gameSessionRegistry.isPlayerConnectedToGame(playerTwoId, gameId);
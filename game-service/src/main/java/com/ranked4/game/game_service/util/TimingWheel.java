@@ -0,0 +1,196 @@
+package com.ranked4.game.game_service.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hierarchical hashed timing wheel. Scheduling and cancelling are O(1) from
+ * any thread; one ticker thread advances the wheel every {@code tickMs} and
+ * hands expired tasks to a pool of {@code workers} threads. Level 0 covers
+ * {@code wheelSize} ticks; each further level covers {@code wheelSize}
+ * times the one below, and its buckets are spread over the lower levels
+ * when the wheel reaches them. Tasks fire up to one tick late, never early.
+ */
+public final class TimingWheel implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final ExecutorService workers;
+    private final long startNanos = System.nanoTime();
+    private final List<Queue<Timeout>[]> levels = new ArrayList<>();
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread ticker;
+    private volatile boolean running = true;
+    private long currentTick;
+
+    public TimingWheel(String name, long tickMs, int wheelSize, int workers) {
+        if (tickMs <= 0 || wheelSize < 2 || workers < 1) {
+            throw new IllegalArgumentException("Tick and workers must be positive and the wheel at least 2 buckets");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheelSize = wheelSize;
+        this.workers = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name(name + "-worker-", 0).daemon().factory());
+        this.ticker = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new RejectedExecutionException("Timing wheel is closed");
+        }
+        long due = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task, (due + tickNanos - 1) / tickNanos);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Tasks scheduled and neither run nor cancelled yet.
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        ticker.interrupt();
+        workers.shutdown();
+    }
+
+    private void run() {
+        while (running) {
+            long wait = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            currentTick++;
+
+            Timeout timeout;
+            while ((timeout = added.poll()) != null) {
+                place(timeout);
+            }
+            cascade();
+            expire(bucket(0, currentTick));
+        }
+    }
+
+    /**
+     * Spreads the higher-level buckets the wheel has just reached over the
+     * levels below, highest first.
+     */
+    private void cascade() {
+        int reached = 0;
+        long unit = 1;
+        while (reached + 1 < levels.size() && currentTick % (unit * wheelSize) == 0) {
+            unit *= wheelSize;
+            reached++;
+        }
+        for (int level = reached; level >= 1; level--) {
+            Queue<Timeout> bucket = bucket(level, currentTick / unit);
+            List<Timeout> due = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Timeout timeout : due) {
+                place(timeout);
+            }
+            unit /= wheelSize;
+        }
+    }
+
+    private void place(Timeout timeout) {
+        if (timeout.state.get() != Timeout.PENDING) {
+            return;
+        }
+        long remaining = timeout.deadlineTick - currentTick;
+        if (remaining <= 0) {
+            fire(timeout);
+            return;
+        }
+        int level = 0;
+        long unit = 1;
+        while (remaining >= unit * wheelSize) {
+            unit *= wheelSize;
+            level++;
+        }
+        bucket(level, timeout.deadlineTick / unit).add(timeout);
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        Timeout timeout;
+        while ((timeout = bucket.poll()) != null) {
+            fire(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            workers.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Timer task rejected: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Queue<Timeout> bucket(int level, long slot) {
+        while (levels.size() <= level) {
+            Queue<Timeout>[] buckets = new Queue[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[(int) (slot % wheelSize)];
+    }
+
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Stops the task from running; false if it already ran or was
+         * cancelled. The entry leaves its bucket when the wheel reaches it.
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ranked4.game.game_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.ranked4.game.game_service.model.Disc;
+import com.ranked4.game.game_service.model.Game;
+import com.ranked4.game.game_service.model.Move;
+import com.ranked4.game.game_service.repository.GameRepository;
+import com.ranked4.game.game_service.util.GameMailboxes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Moves reach the database in the order they were played, also when a
+ * flush fails and they wait for the next one; a row the database rejects
+ * is dropped without holding back the others, and an evicted game's moves
+ * are never written.
+ */
+class LiveGameStoreTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final FakeDatabase database = new FakeDatabase();
+    private final GameMailboxes mailboxes = new GameMailboxes(new SimpleMeterRegistry(), 2);
+    private final LiveGameStore store = new LiveGameStore(mock(GameRepository.class), database.jdbc,
+            database.transactions, mailboxes, mock(ApplicationEventPublisher.class),
+            mock(PlayerProfileClient.class), BATCH_SIZE);
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        mailboxes.shutdown();
+    }
+
+    @Test
+    void neverWritesTheMovesOfAnEvictedGame() {
+        Game evicted = liveGame();
+        Game kept = liveGame();
+        play(evicted, 1);
+        play(kept, 1);
+
+        store.evict(evicted.getGameId());
+        store.flush();
+
+        assertEquals(List.of(kept.getGameId() + "#1"), database.moves);
+    }
+
+    @Test
+    void dropsARejectedMoveAndWritesTheOthers() {
+        Game deleted = liveGame();
+        Game kept = liveGame();
+        play(kept, 1);
+        play(deleted, 1);
+        play(kept, 2);
+        database.rejected.add(deleted.getGameId());
+
+        store.flush();
+        store.flush();
+
+        assertEquals(List.of(kept.getGameId() + "#1", kept.getGameId() + "#2"), database.moves);
+    }
+
+    @Test
+    void keepsTheOrderOfMovesThatWaitedForTheDatabase() {
+        Game game = liveGame();
+        play(game, 1);
+        play(game, 2);
+        play(game, 3);
+        database.down = true;
+
+        // The first batch fails and goes back ahead of the third move
+        store.flush();
+        play(game, 4);
+        database.down = false;
+        store.flush();
+
+        UUID id = game.getGameId();
+        assertEquals(List.of(id + "#1", id + "#2", id + "#3", id + "#4"), database.moves);
+    }
+
+    private Game liveGame() {
+        Game game = new Game();
+        game.startGame(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        return store.add(game);
+    }
+
+    private void play(Game game, int moveNumber) {
+        store.recordMove(game, new Move(game, Disc.PLAYER_ONE, 0, moveNumber));
+    }
+
+    /**
+     * Keeps the moves of committed transactions as {@code gameId#moveNumber};
+     * rejects every row of the games in {@link #rejected} and every write
+     * while {@link #down}.
+     */
+    private static final class FakeDatabase {
+
+        final List<String> moves = new ArrayList<>();
+        final Set<UUID> rejected = ConcurrentHashMap.newKeySet();
+        volatile boolean down;
+        private final List<String> uncommitted = new ArrayList<>();
+
+        final JdbcTemplate jdbc = new JdbcTemplate() {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> rows) {
+                if (down) {
+                    throw new DataAccessResourceFailureException("database is down");
+                }
+                for (Object[] row : rows) {
+                    UUID gameId = (UUID) (sql.startsWith("INSERT") ? row[0] : row[row.length - 1]);
+                    if (rejected.contains(gameId)) {
+                        throw new DataIntegrityViolationException("game " + gameId + " does not exist");
+                    }
+                    if (sql.startsWith("INSERT")) {
+                        uncommitted.add(gameId + "#" + row[3]);
+                    }
+                }
+                return new int[rows.size()];
+            }
+        };
+
+        final AbstractPlatformTransactionManager transactions = new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+                uncommitted.clear();
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                moves.addAll(uncommitted);
+                uncommitted.clear();
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+                uncommitted.clear();
+            }
+        };
+    }
+}
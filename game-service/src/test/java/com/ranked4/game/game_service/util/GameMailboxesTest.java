@@ -0,0 +1,124 @@
+package com.ranked4.game.game_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Operations on one game run one at a time and in the order they were
+ * submitted, whichever threads submit them and however many games share a
+ * mailbox; a task may call back into its own game, and a failing task does
+ * not stop the mailbox.
+ */
+class GameMailboxesTest {
+
+    private static final int MAILBOXES = 4;
+    private static final int GAMES = 32;
+    private static final int TASKS_PER_GAME = 500;
+
+    private final GameMailboxes mailboxes = new GameMailboxes(new SimpleMeterRegistry(), MAILBOXES);
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        mailboxes.shutdown();
+    }
+
+    @Test
+    void runsEachGamesTasksSeriallyInSubmissionOrder() throws Exception {
+        List<UUID> games = new ArrayList<>();
+        List<List<Integer>> applied = new ArrayList<>();
+        List<AtomicInteger> running = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            games.add(UUID.randomUUID());
+            applied.add(new ArrayList<>());
+            running.add(new AtomicInteger());
+        }
+
+        // One submitting thread per game, all started together so the games interleave on the shared mailboxes
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger overlaps = new AtomicInteger();
+        List<Future<List<CompletableFuture<Integer>>>> submitted = new ArrayList<>();
+        try (ExecutorService submitters = Executors.newFixedThreadPool(GAMES)) {
+            for (int g = 0; g < GAMES; g++) {
+                int game = g;
+                submitted.add(submitters.submit(() -> {
+                    start.await();
+                    List<CompletableFuture<Integer>> results = new ArrayList<>();
+                    for (int task = 0; task < TASKS_PER_GAME; task++) {
+                        int order = task;
+                        results.add(mailboxes.submit(games.get(game), () -> {
+                            if (running.get(game).incrementAndGet() != 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            applied.get(game).add(order);
+                            Thread.onSpinWait();
+                            running.get(game).decrementAndGet();
+                            return order;
+                        }));
+                    }
+                    return results;
+                }));
+            }
+            start.countDown();
+
+            for (Future<List<CompletableFuture<Integer>>> game : submitted) {
+                for (CompletableFuture<Integer> result : game.get()) {
+                    result.join();
+                }
+            }
+        }
+
+        assertEquals(0, overlaps.get());
+        for (int g = 0; g < GAMES; g++) {
+            List<Integer> order = applied.get(g);
+            assertEquals(TASKS_PER_GAME, order.size());
+            for (int task = 0; task < TASKS_PER_GAME; task++) {
+                assertEquals(task, order.get(task), "game " + g);
+            }
+        }
+    }
+
+    @Test
+    void taskCanCallBackIntoItsOwnGame() {
+        UUID game = UUID.randomUUID();
+
+        int result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> mailboxes.call(game, () -> mailboxes.call(game, () -> 42)));
+
+        assertEquals(42, result);
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheMailbox() {
+        UUID game = UUID.randomUUID();
+
+        CompletableFuture<Object> failed = mailboxes.submit(game, () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+
+        assertThrows(IllegalStateException.class, () -> mailboxes.run(game, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals("next", mailboxes.call(game, () -> "next"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.ranked4.game.game_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tasks fire once, never before their delay, whichever level of the wheel
+ * they start on and however many times they cascade down; cancelled tasks
+ * never fire. A 4-bucket wheel with 1 ms ticks puts delays of 4, 16 and 64
+ * ms and more on levels 1, 2 and 3.
+ */
+class TimingWheelTest {
+
+    private static final long TICK_MS = 1;
+    private static final int WHEEL_SIZE = 4;
+    private static final long WAIT_SECONDS = 10;
+
+    private final TimingWheel wheel = new TimingWheel("test-wheel", TICK_MS, WHEEL_SIZE, 2);
+
+    @AfterEach
+    void close() {
+        wheel.close();
+    }
+
+    @Test
+    void firesTasksOnEveryLevelNoEarlierThanTheirDelay() throws InterruptedException {
+        long[] delaysMs = {0, 1, 3, 4, 5, 15, 16, 17, 63, 64, 65, 150, 300};
+        CountDownLatch fired = new CountDownLatch(delaysMs.length);
+        ConcurrentHashMap<Long, Long> elapsedMs = new ConcurrentHashMap<>();
+
+        for (long delay : delaysMs) {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(() -> {
+                elapsedMs.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt));
+                fired.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(fired.await(WAIT_SECONDS, TimeUnit.SECONDS), "fired: " + elapsedMs.keySet());
+        for (long delay : delaysMs) {
+            long elapsed = elapsedMs.get(delay);
+            assertTrue(elapsed >= delay, "task of " + delay + " ms fired after " + elapsed + " ms");
+        }
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void firesRandomDelaysExactlyOnce() throws InterruptedException {
+        int tasks = 2_000;
+        SplittableRandom random = new SplittableRandom(7);
+        CountDownLatch fired = new CountDownLatch(tasks);
+        AtomicLong early = new AtomicLong();
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicLong duplicates = new AtomicLong();
+
+        for (int i = 0; i < tasks; i++) {
+            int task = i;
+            long delayNanos = TimeUnit.MILLISECONDS.toNanos(random.nextLong(0, 400));
+            long due = System.nanoTime() + delayNanos;
+            wheel.schedule(() -> {
+                if (System.nanoTime() < due) {
+                    early.incrementAndGet();
+                }
+                if (seen.put(task, Boolean.TRUE) != null) {
+                    duplicates.incrementAndGet();
+                }
+                fired.countDown();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        assertTrue(fired.await(WAIT_SECONDS, TimeUnit.SECONDS), "only " + seen.size() + " of " + tasks + " fired");
+        assertEquals(0, early.get());
+        assertEquals(0, duplicates.get());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancelledTasksNeverFireOnAnyLevel() throws InterruptedException {
+        long[] delaysMs = {2, 10, 40, 120};
+        AtomicBoolean cancelledRan = new AtomicBoolean();
+        CountDownLatch kept = new CountDownLatch(delaysMs.length);
+
+        for (long delay : delaysMs) {
+            TimingWheel.Timeout cancelled = wheel.schedule(() -> cancelledRan.set(true), delay, TimeUnit.MILLISECONDS);
+            wheel.schedule(kept::countDown, delay, TimeUnit.MILLISECONDS);
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertTrue(cancelled.isCancelled());
+        }
+
+        // A task cancelled after it was placed on a higher level, before the wheel cascades it down
+        TimingWheel.Timeout late = wheel.schedule(() -> cancelledRan.set(true), 200, TimeUnit.MILLISECONDS);
+        CountDownLatch after = new CountDownLatch(1);
+        wheel.schedule(after::countDown, 250, TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+        assertTrue(late.cancel());
+
+        assertTrue(kept.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(after.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(cancelledRan.get());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cannotCancelATaskThatRan() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(fired::countDown, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void rejectsTasksOnceClosed() {
+        wheel.close();
+
+        assertThrows(RejectedExecutionException.class, () -> wheel.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+    }
+}
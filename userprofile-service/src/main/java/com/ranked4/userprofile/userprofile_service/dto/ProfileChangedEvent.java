@@ -0,0 +1,23 @@
+package com.ranked4.userprofile.userprofile_service.dto;
+
+import java.util.UUID;
+
+import com.ranked4.userprofile.userprofile_service.model.UserProfile;
+
+public record ProfileChangedEvent(
+    UUID userId,
+    String displayName,
+    String avatarUrl,
+    int elo,
+    DiscCustomizationDTO equippedDisc
+) {
+    public static ProfileChangedEvent fromEntity(UserProfile entity) {
+        return new ProfileChangedEvent(
+            entity.getUserId(),
+            entity.getDisplayName(),
+            entity.getAvatarUrl(),
+            entity.getElo(),
+            DiscCustomizationDTO.fromEntity(entity.getEquippedDisc())
+        );
+    }
+}
@@ -8,6 +8,7 @@ import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import com.ranked4.userprofile.userprofile_service.model.DiscCustomization;
 import com.ranked4.userprofile.userprofile_service.model.UserProfile;
 
 @Repository
@@ -22,4 +23,5 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     List<UserProfile> findTop10ByOrderByEloDesc();
     List<UserProfile> findAllByUserIdIn(List<UUID> userIds);
     List<UserProfile> findAllByUserIdIn(Set<UUID> userIds);
+    List<UserProfile> findAllByEquippedDisc(DiscCustomization equippedDisc);
 }
\ No newline at end of file
@@ -71,6 +71,9 @@ public class DiscCustomService {
                 dto.availableForPurchase() != null ? dto.availableForPurchase() : entity.getAvailableForPurchase());
 
         DiscCustomization saved = discCustomizationRepository.save(entity);
+        for (UserProfile user : userProfileRepository.findAllByEquippedDisc(saved)) {
+            userProfileService.publishProfileChanged(user);
+        }
         return new DiscCustomizationDTO(saved);
     }
 
@@ -85,11 +88,15 @@ public class DiscCustomService {
                 .toList();
 
         for (UserProfile user : usersWithDisc) {
-            if (user.getEquippedDisc() != null && user.getEquippedDisc().equals(entity)) {
+            boolean unequipped = user.getEquippedDisc() != null && user.getEquippedDisc().equals(entity);
+            if (unequipped) {
                 user.setEquippedDisc(null);
             }
             user.getOwnedDiscs().remove(entity);
-            userProfileRepository.save(user);
+            UserProfile saved = userProfileRepository.save(user);
+            if (unequipped) {
+                userProfileService.publishProfileChanged(saved);
+            }
         }
 
         discCustomizationRepository.delete(entity);
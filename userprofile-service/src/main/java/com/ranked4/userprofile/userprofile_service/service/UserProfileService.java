@@ -8,34 +8,46 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.ranked4.userprofile.userprofile_service.dto.DiscCustomizationDTO;
 import com.ranked4.userprofile.userprofile_service.dto.LeaderboardEntryDTO;
 import com.ranked4.userprofile.userprofile_service.dto.MyUserProfileDTO;
+import com.ranked4.userprofile.userprofile_service.dto.ProfileChangedEvent;
 import com.ranked4.userprofile.userprofile_service.dto.UserProfileDTO;
 import com.ranked4.userprofile.userprofile_service.model.DiscCustomization;
 import com.ranked4.userprofile.userprofile_service.model.UserProfile;
 import com.ranked4.userprofile.userprofile_service.repository.DiscCustomizationRepository;
 import com.ranked4.userprofile.userprofile_service.repository.UserProfileRepository;
+import com.ranked4.userprofile.userprofile_service.util.KafkaProducerConfig;
 
 @Service
 public class UserProfileService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserProfileService.class);
+
     private final UserProfileRepository userProfileRepository;
     private final DiscCustomizationRepository discCustomizationRepository;
     private final ImageValidationService imageValidationService;
+    private final KafkaTemplate<String, ProfileChangedEvent> kafkaTemplate;
 
      public UserProfileService(
             UserProfileRepository userProfileRepository,
             DiscCustomizationRepository discCustomizationRepository,
-            ImageValidationService imageValidationService) {
+            ImageValidationService imageValidationService,
+            KafkaTemplate<String, ProfileChangedEvent> kafkaTemplate) {
         this.userProfileRepository = userProfileRepository;
         this.discCustomizationRepository = discCustomizationRepository;
         this.imageValidationService = imageValidationService;
+        this.kafkaTemplate = kafkaTemplate;
     }
 
     @Transactional(readOnly = true)
@@ -133,6 +145,9 @@ public class UserProfileService {
         }
 
         UserProfile saved = userProfileRepository.save(profile);
+        if (equip) {
+            publishProfileChanged(saved);
+        }
         return MyUserProfileDTO.fromEntity(saved);
     }
 
@@ -155,6 +170,9 @@ public class UserProfileService {
         }
 
         UserProfile saved = userProfileRepository.save(profile);
+        if (equip && !alreadyOwned) {
+            publishProfileChanged(saved);
+        }
         return new AddDiscResult(MyUserProfileDTO.fromEntity(saved), alreadyOwned);
     }
 
@@ -214,16 +232,21 @@ public class UserProfileService {
         DiscCustomization disc = discCustomizationRepository.findByItemCode(itemCode)
                 .orElseThrow(() -> new RuntimeException("DiscCustomization not found"));
 
+        boolean unequipped = false;
         if (profile.getOwnedDiscs().contains(disc)) {
             profile.getOwnedDiscs().remove(disc);
 
             // If this was the equipped disc, unequip it
             if (profile.getEquippedDisc() != null && profile.getEquippedDisc().equals(disc)) {
                 profile.setEquippedDisc(null);
+                unequipped = true;
             }
         }
 
         UserProfile saved = userProfileRepository.save(profile);
+        if (unequipped) {
+            publishProfileChanged(saved);
+        }
         return MyUserProfileDTO.fromEntity(saved);
     }
 
@@ -245,6 +268,7 @@ public class UserProfileService {
 
         profile.setAvatarUrl(avatarUrl);
         UserProfile saved = userProfileRepository.save(profile);
+        publishProfileChanged(saved);
         return MyUserProfileDTO.fromEntity(saved);
     }
 
@@ -262,6 +286,7 @@ public class UserProfileService {
 
         profile.setEquippedDisc(disc);
         UserProfile saved = userProfileRepository.save(profile);
+        publishProfileChanged(saved);
         return MyUserProfileDTO.fromEntity(saved);
     }
 
@@ -272,6 +297,7 @@ public class UserProfileService {
 
         profile.setEquippedDisc(null);
         UserProfile saved = userProfileRepository.save(profile);
+        publishProfileChanged(saved);
         return MyUserProfileDTO.fromEntity(saved);
     }
 
@@ -289,4 +315,32 @@ public class UserProfileService {
 
     public record UserIdNamePair(UUID userId, String displayName) {
     }
-}
\ No newline at end of file
+
+    /**
+     * Lets game-service refresh the player info it keeps for live games.
+     * The event is built now but only sent once the transaction commits, so
+     * a rolled-back change is never announced. The change itself stands
+     * even if the event cannot be sent.
+     */
+    public void publishProfileChanged(UserProfile profile) {
+        ProfileChangedEvent event = ProfileChangedEvent.fromEntity(profile);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendProfileChanged(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendProfileChanged(event);
+            }
+        });
+    }
+
+    private void sendProfileChanged(ProfileChangedEvent event) {
+        try {
+            kafkaTemplate.send(KafkaProducerConfig.TOPIC_PROFILE_CHANGED, event.userId().toString(), event);
+        } catch (Exception e) {
+            log.error("Failed to send ProfileChangedEvent for user {}", event.userId(), e);
+        }
+    }
+}
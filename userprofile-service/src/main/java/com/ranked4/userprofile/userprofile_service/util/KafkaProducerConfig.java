@@ -0,0 +1,20 @@
+package com.ranked4.userprofile.userprofile_service.util;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    public static final String TOPIC_PROFILE_CHANGED = "profile.changed";
+
+    @Bean
+    public NewTopic profileChangedTopic() {
+        return TopicBuilder.name(TOPIC_PROFILE_CHANGED)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+}